@@ -0,0 +1,24 @@
+package com.homepanel.system.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks, or the ones matching the given JMH command line, with the GC profiler so every result reports
+ * the allocation rate next to the time per operation.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] arguments) throws Exception {
+
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(arguments))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.homepanel.system.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a poll of the CPU group waits to start while the polls of the STORAGE group block, like they do
+ * on a hung network mount. The polling executor of the core service is modelled by a scheduled pool of the same size.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PollingJitterBenchmark {
+
+    private final static int BLOCKING_TOPICS = 4;
+    private final static long BLOCKING_TIME_IN_MILLISECONDS = 100L;
+    private final static long BLOCKING_REFRESH_INTERVAL_IN_MILLISECONDS = 150L;
+    private final static long REFRESH_INTERVAL_IN_MILLISECONDS = TimeUnit.SECONDS.toMillis(1);
+    private final static int GROUP_CONCURRENCY = 2;
+
+    @Param
+    public SystemConstants.POLLING polling;
+
+    private ScheduledExecutorService pollingExecutorService;
+    private VirtualThreadPolling virtualThreadPolling;
+
+    @Setup
+    public void setUp() {
+
+        pollingExecutorService = Executors.newScheduledThreadPool(Service.POLLING_EXECUTOR_SERVICE_POOL_SIZE);
+
+        if (polling == SystemConstants.POLLING.VIRTUAL) {
+            virtualThreadPolling = new VirtualThreadPolling(GROUP_CONCURRENCY);
+        }
+
+        for (int i = 0; i < BLOCKING_TOPICS; i++) {
+            pollingExecutorService.scheduleAtFixedRate(() -> poll(SystemConstants.GROUP.STORAGE, PollingJitterBenchmark::block), 0, BLOCKING_REFRESH_INTERVAL_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        pollingExecutorService.shutdownNow();
+
+        if (virtualThreadPolling != null) {
+            virtualThreadPolling.shutdown();
+        }
+    }
+
+    private static void block() {
+        try {
+            Thread.sleep(BLOCKING_TIME_IN_MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * dispatches a poll the way {@link Service#pollData} does
+     */
+    private void poll(SystemConstants.GROUP group, Runnable read) {
+        if (virtualThreadPolling != null) {
+            virtualThreadPolling.submit(group, REFRESH_INTERVAL_IN_MILLISECONDS, read);
+        } else {
+            read.run();
+        }
+    }
+
+    @Benchmark
+    public void pollDelay() throws InterruptedException {
+
+        CountDownLatch started = new CountDownLatch(1);
+
+        pollingExecutorService.execute(() -> poll(SystemConstants.GROUP.CPU, started::countDown));
+
+        started.await();
+    }
+}
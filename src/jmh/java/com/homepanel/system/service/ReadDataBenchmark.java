@@ -0,0 +1,85 @@
+package com.homepanel.system.service;
+
+import com.homepanel.system.config.Topic;
+import com.homepanel.system.system.client.DeviceNotFoundException;
+import com.homepanel.system.system.client.SystemInfo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the poll path of one group, every channel of the group is read once per invocation with a new polling
+ * tick. Publishing is not part of the measurement since it depends on the MQTT broker.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReadDataBenchmark {
+
+    private final static long REFRESH_INTERVAL_IN_MILLISECONDS = TimeUnit.HOURS.toMillis(1);
+    private final static long TICK_IN_MILLISECONDS = TimeUnit.SECONDS.toMillis(1);
+
+    @Param
+    public SystemConstants.GROUP group;
+
+    private List<Topic> topics;
+    private AtomicLong timeInMilliseconds;
+
+    @Setup
+    public void setUp() {
+
+        SystemInfo systemInfo = new SystemInfo();
+
+        topics = new ArrayList<>();
+        timeInMilliseconds = new AtomicLong(System.currentTimeMillis());
+
+        for (SystemConstants.CHANNEL channel : TopicReaders.getChannels(group)) {
+
+            Topic topic = new Topic();
+            topic.setPath("system/benchmark/" + group.name().toLowerCase() + "/" + channel.name().toLowerCase());
+            topic.setGroup(group);
+            topic.setChannel(channel);
+            topic.setIndex(0);
+            topic.setProcessId(systemInfo.getProcessId());
+
+            String error = TopicReaders.compile(topic, systemInfo);
+
+            if (error != null) {
+                throw new IllegalStateException(error);
+            }
+
+            topics.add(topic);
+        }
+    }
+
+    private void readGroup(Blackhole blackhole) {
+
+        long time = timeInMilliseconds.addAndGet(TICK_IN_MILLISECONDS);
+
+        for (Topic topic : topics) {
+            try {
+                blackhole.consume(topic.getReader().read(time, REFRESH_INTERVAL_IN_MILLISECONDS));
+            } catch (DeviceNotFoundException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void readData(Blackhole blackhole) {
+        readGroup(blackhole);
+    }
+
+    @Benchmark
+    @Threads(Service.POLLING_EXECUTOR_SERVICE_POOL_SIZE)
+    public void readDataContended(Blackhole blackhole) {
+        readGroup(blackhole);
+    }
+}
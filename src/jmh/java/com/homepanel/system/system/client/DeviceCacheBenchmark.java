@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cached device lookups for file stores, network interfaces and displays. A hit uses a refresh interval
+ * that never expires, a miss uses a refresh interval of zero with the time advancing on every invocation so every
+ * lookup enumerates the devices again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DeviceCacheBenchmark {
+
+    private final static int INDEX = 0;
+
+    @Param({"HIT", "MISS"})
+    public String cache;
+
+    private SystemInfo systemInfo;
+    private long timeInMilliseconds;
+    private long refreshIntervalInMilliseconds;
+
+    @Setup
+    public void setUp() {
+        systemInfo = new SystemInfo();
+        timeInMilliseconds = System.currentTimeMillis();
+        refreshIntervalInMilliseconds = "HIT".equals(cache) ? timeInMilliseconds : 0L;
+    }
+
+    private long time() {
+        if (refreshIntervalInMilliseconds == 0L) {
+            timeInMilliseconds++;
+        }
+        return timeInMilliseconds;
+    }
+
+    @Benchmark
+    public Object getOsFileStore() throws DeviceNotFoundException {
+        return systemInfo.getStorageName(INDEX, time(), refreshIntervalInMilliseconds);
+    }
+
+    @Benchmark
+    public Object getNetwork() throws DeviceNotFoundException {
+        return systemInfo.getNetworkName(INDEX, time(), refreshIntervalInMilliseconds);
+    }
+
+    @Benchmark
+    public Object getDisplay() throws DeviceNotFoundException {
+        return systemInfo.getDisplayInformation(INDEX, time(), refreshIntervalInMilliseconds);
+    }
+}
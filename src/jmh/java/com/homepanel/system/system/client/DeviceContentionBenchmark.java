@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of cpu and network polls while another thread enumerates file stores and displays on every
+ * invocation. Compare the polls of the group "contended" with the ones of the group "uncontended" to see whether a
+ * slow device class delays the other groups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Group)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DeviceContentionBenchmark {
+
+    private final static int INDEX = 0;
+    private final static long REFRESH_INTERVAL_IN_MILLISECONDS = TimeUnit.HOURS.toMillis(1);
+    private final static long POLL_INTERVAL_IN_MILLISECONDS = 1000L;
+
+    private SystemInfo systemInfo;
+    private long pollTimeInMilliseconds;
+    private long enumerationTimeInMilliseconds;
+
+    @Setup
+    public void setUp() {
+        systemInfo = new SystemInfo();
+        pollTimeInMilliseconds = System.currentTimeMillis();
+        enumerationTimeInMilliseconds = pollTimeInMilliseconds;
+    }
+
+    private Object poll() throws DeviceNotFoundException {
+
+        // every invocation is a new polling tick
+        pollTimeInMilliseconds += POLL_INTERVAL_IN_MILLISECONDS;
+
+        return systemInfo.getCpuLoad(pollTimeInMilliseconds, POLL_INTERVAL_IN_MILLISECONDS) + systemInfo.getNetworkDataReceived(INDEX, pollTimeInMilliseconds, REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public Object contendedPoll() throws DeviceNotFoundException {
+        return poll();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public Object enumerateDevices() {
+
+        // a refresh interval of zero enumerates the devices again on every invocation
+        enumerationTimeInMilliseconds++;
+
+        try {
+            systemInfo.getDisplayInformation(INDEX, enumerationTimeInMilliseconds, 0L);
+        } catch (DeviceNotFoundException e) {
+            // hosts without a display still enumerate the displays
+        }
+
+        try {
+            return systemInfo.getStorageName(INDEX, enumerationTimeInMilliseconds, 0L);
+        } catch (DeviceNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    @Group("uncontended")
+    public Object uncontendedPoll() throws DeviceNotFoundException {
+        return poll();
+    }
+}
@@ -0,0 +1,391 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import org.openjdk.jmh.annotations.*;
+import oshi.hardware.CentralProcessor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every public getter, either with a new polling tick per invocation so every call samples its group, or
+ * within the same polling tick so every call is served from the snapshot of its group.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SystemInfoBenchmark {
+
+    private final static int INDEX = 0;
+    private final static long REFRESH_INTERVAL_IN_MILLISECONDS = TimeUnit.HOURS.toMillis(1);
+    private final static long TICK_IN_MILLISECONDS = TimeUnit.SECONDS.toMillis(1);
+
+    @Param({"true", "false"})
+    public boolean newTick;
+
+    private SystemInfo systemInfo;
+    private Integer processId;
+    private long timeInMilliseconds;
+
+    @Setup
+    public void setUp() {
+        systemInfo = new SystemInfo();
+        processId = systemInfo.getProcessId();
+        timeInMilliseconds = System.currentTimeMillis();
+    }
+
+    private long tick() {
+        if (newTick) {
+            timeInMilliseconds += TICK_IN_MILLISECONDS;
+        }
+        return timeInMilliseconds;
+    }
+
+    @Benchmark
+    public Object getProcessId() {
+        return systemInfo.getProcessId();
+    }
+
+    @Benchmark
+    public Object getOsFamily() {
+        return systemInfo.getOsFamily();
+    }
+
+    @Benchmark
+    public Object getOsManufacturer() {
+        return systemInfo.getOsManufacturer();
+    }
+
+    @Benchmark
+    public Object getOsVersion() {
+        return systemInfo.getOsVersion();
+    }
+
+    @Benchmark
+    public Object getCpuName() {
+        return systemInfo.getCpuName();
+    }
+
+    @Benchmark
+    public Object getCpuDescription() {
+        return systemInfo.getCpuDescription();
+    }
+
+    @Benchmark
+    public Object getCpuLogicalCores() {
+        return systemInfo.getCpuLogicalCores();
+    }
+
+    @Benchmark
+    public Object getCpuPhysicalCores() {
+        return systemInfo.getCpuPhysicalCores();
+    }
+
+    @Benchmark
+    public Object getCpuLoad() {
+        return systemInfo.getCpuLoad(tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getCpuTickTypeLoad() {
+        return systemInfo.getCpuTickTypeLoad(CentralProcessor.TickType.IOWAIT, tick());
+    }
+
+    @Benchmark
+    public Object getCpuCoreLoad() throws DeviceNotFoundException {
+        return systemInfo.getCpuCoreLoad(0, tick());
+    }
+
+    @Benchmark
+    public Object getCpuCoreLoads() {
+        return systemInfo.getCpuCoreLoads(tick());
+    }
+
+    @Benchmark
+    public Object getCpuLoad1() {
+        return systemInfo.getCpuLoad1();
+    }
+
+    @Benchmark
+    public Object getCpuLoad5() {
+        return systemInfo.getCpuLoad5();
+    }
+
+    @Benchmark
+    public Object getCpuLoad15() {
+        return systemInfo.getCpuLoad15();
+    }
+
+    @Benchmark
+    public Object getCpuUptime() {
+        return systemInfo.getCpuUptime();
+    }
+
+    @Benchmark
+    public Object getCpuThreads() {
+        return systemInfo.getCpuThreads();
+    }
+
+    @Benchmark
+    public Object getMemoryTotal() {
+        return systemInfo.getMemoryTotal(tick());
+    }
+
+    @Benchmark
+    public Object getMemoryAvailable() {
+        return systemInfo.getMemoryAvailable(tick());
+    }
+
+    @Benchmark
+    public Object getMemoryUsed() {
+        return systemInfo.getMemoryUsed(tick());
+    }
+
+    @Benchmark
+    public Object getMemoryAvailablePercent() {
+        return systemInfo.getMemoryAvailablePercent(tick());
+    }
+
+    @Benchmark
+    public Object getMemoryUsedPercent() {
+        return systemInfo.getMemoryUsedPercent(tick());
+    }
+
+    @Benchmark
+    public Object getSwapTotal() {
+        return systemInfo.getSwapTotal(tick());
+    }
+
+    @Benchmark
+    public Object getSwapAvailable() {
+        return systemInfo.getSwapAvailable(tick());
+    }
+
+    @Benchmark
+    public Object getSwapUsed() {
+        return systemInfo.getSwapUsed(tick());
+    }
+
+    @Benchmark
+    public Object getSwapAvailablePercent() {
+        return systemInfo.getSwapAvailablePercent(tick());
+    }
+
+    @Benchmark
+    public Object getSwapUsedPercent() {
+        return systemInfo.getSwapUsedPercent(tick());
+    }
+
+    @Benchmark
+    public Object getStorageTotal() throws DeviceNotFoundException {
+        return systemInfo.getStorageTotal(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getStorageAvailable() throws DeviceNotFoundException {
+        return systemInfo.getStorageAvailable(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getStorageUsed() throws DeviceNotFoundException {
+        return systemInfo.getStorageUsed(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getStorageAvailablePercent() throws DeviceNotFoundException {
+        return systemInfo.getStorageAvailablePercent(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getStorageUsedPercent() throws DeviceNotFoundException {
+        return systemInfo.getStorageUsedPercent(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getStorageName() throws DeviceNotFoundException {
+        return systemInfo.getStorageName(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getStorageType() throws DeviceNotFoundException {
+        return systemInfo.getStorageType(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getStorageDescription() throws DeviceNotFoundException {
+        return systemInfo.getStorageDescription(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkIpAddress() throws DeviceNotFoundException {
+        return systemInfo.getNetworkIpAddress(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkName() throws DeviceNotFoundException {
+        return systemInfo.getNetworkName(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkDisplayName() throws DeviceNotFoundException {
+        return systemInfo.getNetworkDisplayName(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkMacAddress() throws DeviceNotFoundException {
+        return systemInfo.getNetworkMacAddress(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkPacketsReceived() throws DeviceNotFoundException {
+        return systemInfo.getNetworkPacketsReceived(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkPacketsSent() throws DeviceNotFoundException {
+        return systemInfo.getNetworkPacketsSent(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkDataSent() throws DeviceNotFoundException {
+        return systemInfo.getNetworkDataSent(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkDataReceived() throws DeviceNotFoundException {
+        return systemInfo.getNetworkDataReceived(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkDataSentRate() throws DeviceNotFoundException {
+        return systemInfo.getNetworkDataSentRate(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkDataReceivedRate() throws DeviceNotFoundException {
+        return systemInfo.getNetworkDataReceivedRate(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkPacketsSentRate() throws DeviceNotFoundException {
+        return systemInfo.getNetworkPacketsSentRate(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getNetworkPacketsReceivedRate() throws DeviceNotFoundException {
+        return systemInfo.getNetworkPacketsReceivedRate(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getDisplayInformation() throws DeviceNotFoundException {
+        return systemInfo.getDisplayInformation(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getSensorsCpuTemperature() {
+        return systemInfo.getSensorsCpuTemperature(tick());
+    }
+
+    @Benchmark
+    public Object getSensorsCpuVoltage() {
+        return systemInfo.getSensorsCpuVoltage(tick());
+    }
+
+    @Benchmark
+    public Object getSensorsFanSpeed() throws DeviceNotFoundException {
+        return systemInfo.getSensorsFanSpeed(INDEX, tick());
+    }
+
+    @Benchmark
+    public Object getBatteryRemainingTime() throws DeviceNotFoundException {
+        return systemInfo.getBatteryRemainingTime(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getBatteryRemainingCapacity() throws DeviceNotFoundException {
+        return systemInfo.getBatteryRemainingCapacity(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getBatteryName() throws DeviceNotFoundException {
+        return systemInfo.getBatteryName(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getDriveName() throws DeviceNotFoundException {
+        return systemInfo.getDriveName(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getDriveModel() throws DeviceNotFoundException {
+        return systemInfo.getDriveModel(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getDriveSerialNumber() throws DeviceNotFoundException {
+        return systemInfo.getDriveSerialNumber(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getDriveReadRate() throws DeviceNotFoundException {
+        return systemInfo.getDriveReadRate(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getDriveWriteRate() throws DeviceNotFoundException {
+        return systemInfo.getDriveWriteRate(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getDriveOperationsRate() throws DeviceNotFoundException {
+        return systemInfo.getDriveOperationsRate(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getDriveBusyPercent() throws DeviceNotFoundException {
+        return systemInfo.getDriveBusyPercent(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getDriveQueueLength() throws DeviceNotFoundException {
+        return systemInfo.getDriveQueueLength(INDEX, tick(), REFRESH_INTERVAL_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public Object getProcessName() throws DeviceNotFoundException {
+        return systemInfo.getProcessName(processId, tick());
+    }
+
+    @Benchmark
+    public Object getProcessCpuUsage() throws DeviceNotFoundException {
+        return systemInfo.getProcessCpuUsage(processId, tick());
+    }
+
+    @Benchmark
+    public Object getProcessMemoryUsage() throws DeviceNotFoundException {
+        return systemInfo.getProcessMemoryUsage(processId, tick());
+    }
+
+    @Benchmark
+    public Object getProcessPath() throws DeviceNotFoundException {
+        return systemInfo.getProcessPath(processId, tick());
+    }
+
+    @Benchmark
+    public Object getProcessThreads() throws DeviceNotFoundException {
+        return systemInfo.getProcessThreads(processId, tick());
+    }
+}
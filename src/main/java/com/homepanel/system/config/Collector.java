@@ -0,0 +1,29 @@
+package com.homepanel.system.config;
+
+import com.homepanel.system.service.SystemConstants;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlValue;
+
+public class Collector {
+
+    private SystemConstants.GROUP group;
+    private SystemConstants.COLLECTOR type;
+
+    @XmlAttribute
+    public SystemConstants.GROUP getGroup() {
+        return group;
+    }
+
+    public void setGroup(SystemConstants.GROUP group) {
+        this.group = group;
+    }
+
+    @XmlValue
+    public SystemConstants.COLLECTOR getType() {
+        return type;
+    }
+
+    public void setType(SystemConstants.COLLECTOR type) {
+        this.type = type;
+    }
+}
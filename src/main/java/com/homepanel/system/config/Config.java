@@ -2,9 +2,11 @@ package com.homepanel.system.config;
 
 import com.homepanel.core.type.DefaultDouble;
 import com.homepanel.core.type.DefaultString;
+import com.homepanel.system.service.SystemConstants;
 
 import jakarta.xml.bind.annotation.*;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @XmlRootElement(name = "config")
 @XmlAccessorType(XmlAccessType.PROPERTY)
@@ -14,6 +16,22 @@ public class Config extends com.homepanel.core.config.ConfigTopic<Topic> {
         addTypes(new DefaultDouble(), new DefaultString());
     }
     private List<Topic> topics;
+    private String collectorRootPath;
+    private List<Collector> collectors;
+    private String historyDirectory;
+    private Integer historyRetentionDays;
+    private String historyRequestTopic;
+    private Integer publishBufferSize;
+    private SystemConstants.OVERFLOW publishBufferOverflow;
+    private Integer publishBufferReplayRate;
+    private String selfTopic;
+    private Integer selfIntervalValue;
+    private TimeUnit selfIntervalUnit;
+    private String metricsAddress;
+    private Integer metricsPort;
+    private SystemConstants.POLLING polling;
+    private Integer pollingGroupConcurrency;
+    private SystemConstants.SCHEDULER scheduler;
 
     @XmlElementWrapper(name = "topics")
     @XmlElement(name = "topic")
@@ -25,4 +43,149 @@ public class Config extends com.homepanel.core.config.ConfigTopic<Topic> {
     public void setTopics(List<Topic> topics) {
         this.topics = topics;
     }
-}
\ No newline at end of file
+
+    @XmlElement
+    public String getCollectorRootPath() {
+        return collectorRootPath;
+    }
+
+    public void setCollectorRootPath(String collectorRootPath) {
+        this.collectorRootPath = collectorRootPath;
+    }
+
+    @XmlElementWrapper(name = "collectors")
+    @XmlElement(name = "collector")
+    public List<Collector> getCollectors() {
+        return collectors;
+    }
+
+    public void setCollectors(List<Collector> collectors) {
+        this.collectors = collectors;
+    }
+
+    @XmlElement
+    public String getHistoryDirectory() {
+        return historyDirectory;
+    }
+
+    public void setHistoryDirectory(String historyDirectory) {
+        this.historyDirectory = historyDirectory;
+    }
+
+    @XmlElement
+    public Integer getHistoryRetentionDays() {
+        return historyRetentionDays;
+    }
+
+    public void setHistoryRetentionDays(Integer historyRetentionDays) {
+        this.historyRetentionDays = historyRetentionDays;
+    }
+
+    @XmlElement
+    public String getHistoryRequestTopic() {
+        return historyRequestTopic;
+    }
+
+    public void setHistoryRequestTopic(String historyRequestTopic) {
+        this.historyRequestTopic = historyRequestTopic;
+    }
+
+    @XmlElement
+    public Integer getPublishBufferSize() {
+        return publishBufferSize;
+    }
+
+    public void setPublishBufferSize(Integer publishBufferSize) {
+        this.publishBufferSize = publishBufferSize;
+    }
+
+    @XmlElement
+    public SystemConstants.OVERFLOW getPublishBufferOverflow() {
+        return publishBufferOverflow;
+    }
+
+    public void setPublishBufferOverflow(SystemConstants.OVERFLOW publishBufferOverflow) {
+        this.publishBufferOverflow = publishBufferOverflow;
+    }
+
+    @XmlElement
+    public Integer getPublishBufferReplayRate() {
+        return publishBufferReplayRate;
+    }
+
+    public void setPublishBufferReplayRate(Integer publishBufferReplayRate) {
+        this.publishBufferReplayRate = publishBufferReplayRate;
+    }
+
+    @XmlElement
+    public String getSelfTopic() {
+        return selfTopic;
+    }
+
+    public void setSelfTopic(String selfTopic) {
+        this.selfTopic = selfTopic;
+    }
+
+    @XmlElement
+    public Integer getSelfIntervalValue() {
+        return selfIntervalValue;
+    }
+
+    public void setSelfIntervalValue(Integer selfIntervalValue) {
+        this.selfIntervalValue = selfIntervalValue;
+    }
+
+    @XmlElement
+    public TimeUnit getSelfIntervalUnit() {
+        return selfIntervalUnit;
+    }
+
+    public void setSelfIntervalUnit(TimeUnit selfIntervalUnit) {
+        this.selfIntervalUnit = selfIntervalUnit;
+    }
+
+    @XmlElement
+    public String getMetricsAddress() {
+        return metricsAddress;
+    }
+
+    public void setMetricsAddress(String metricsAddress) {
+        this.metricsAddress = metricsAddress;
+    }
+
+    @XmlElement
+    public Integer getMetricsPort() {
+        return metricsPort;
+    }
+
+    public void setMetricsPort(Integer metricsPort) {
+        this.metricsPort = metricsPort;
+    }
+
+    @XmlElement
+    public SystemConstants.POLLING getPolling() {
+        return polling;
+    }
+
+    public void setPolling(SystemConstants.POLLING polling) {
+        this.polling = polling;
+    }
+
+    @XmlElement
+    public Integer getPollingGroupConcurrency() {
+        return pollingGroupConcurrency;
+    }
+
+    public void setPollingGroupConcurrency(Integer pollingGroupConcurrency) {
+        this.pollingGroupConcurrency = pollingGroupConcurrency;
+    }
+
+    @XmlElement
+    public SystemConstants.SCHEDULER getScheduler() {
+        return scheduler;
+    }
+
+    public void setScheduler(SystemConstants.SCHEDULER scheduler) {
+        this.scheduler = scheduler;
+    }
+}
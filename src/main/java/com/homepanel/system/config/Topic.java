@@ -5,13 +5,19 @@ import com.homepanel.core.config.InterfaceTopicPolling;
 import com.homepanel.core.config.InterfaceTopicValue;
 import com.homepanel.core.config.TypeAdapter;
 import com.homepanel.core.state.Type;
+import com.homepanel.system.service.AdaptivePolling;
+import com.homepanel.system.service.History;
 import com.homepanel.system.service.SystemConstants;
+import com.homepanel.system.service.TopicMetrics;
+import com.homepanel.system.service.TopicReader;
 import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlList;
 import jakarta.xml.bind.annotation.XmlTransient;
 import jakarta.xml.bind.annotation.XmlValue;
 import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 public class Topic implements InterfaceTopic, InterfaceTopicValue, InterfaceTopicPolling {
@@ -21,11 +27,34 @@ public class Topic implements InterfaceTopic, InterfaceTopicValue, InterfaceTopi
     private SystemConstants.GROUP group;
     private SystemConstants.CHANNEL channel;
     private Integer index;
+    private String device;
     private Integer processId;
+    private String processName;
+    private String processPattern;
+    private Integer limit;
     private Object lastValue;
     private LocalDateTime lastDateTime;
     private Integer refreshIntervalValue;
     private TimeUnit refreshIntervalUnit;
+    private Integer maxRefreshIntervalValue;
+    private TimeUnit maxRefreshIntervalUnit;
+    private Double triggerThreshold;
+    private Double triggerRate;
+    private SystemConstants.PUBLISH publish;
+    private Double deadbandAbsolute;
+    private Double deadbandPercent;
+    private Integer heartbeatIntervalValue;
+    private TimeUnit heartbeatIntervalUnit;
+    private Integer smoothingIntervalValue;
+    private TimeUnit smoothingIntervalUnit;
+    private List<SystemConstants.STATISTIC> statistics;
+    private Integer statisticsWindowValue;
+    private TimeUnit statisticsWindowUnit;
+    private TopicReader reader;
+    private AdaptivePolling adaptivePolling;
+    private History history;
+    private List<Topic> statisticTopics;
+    private TopicMetrics metrics;
 
     @XmlValue
     @Override
@@ -53,7 +82,7 @@ public class Topic implements InterfaceTopic, InterfaceTopicValue, InterfaceTopi
         return group;
     }
 
-    private void setGroup(SystemConstants.GROUP group) {
+    public void setGroup(SystemConstants.GROUP group) {
         this.group = group;
     }
 
@@ -62,7 +91,7 @@ public class Topic implements InterfaceTopic, InterfaceTopicValue, InterfaceTopi
         return channel;
     }
 
-    private void setChannel(SystemConstants.CHANNEL channel) {
+    public void setChannel(SystemConstants.CHANNEL channel) {
         this.channel = channel;
     }
 
@@ -75,6 +104,15 @@ public class Topic implements InterfaceTopic, InterfaceTopicValue, InterfaceTopi
         this.index = index;
     }
 
+    @XmlAttribute
+    public String getDevice() {
+        return device;
+    }
+
+    public void setDevice(String device) {
+        this.device = device;
+    }
+
     @XmlAttribute
     public Integer getProcessId() {
         return processId;
@@ -84,6 +122,33 @@ public class Topic implements InterfaceTopic, InterfaceTopicValue, InterfaceTopi
         this.processId = processId;
     }
 
+    @XmlAttribute
+    public String getProcessName() {
+        return processName;
+    }
+
+    public void setProcessName(String processName) {
+        this.processName = processName;
+    }
+
+    @XmlAttribute
+    public String getProcessPattern() {
+        return processPattern;
+    }
+
+    public void setProcessPattern(String processPattern) {
+        this.processPattern = processPattern;
+    }
+
+    @XmlAttribute
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
     @XmlTransient
     @Override
     public Object getLastValue() {
@@ -126,4 +191,176 @@ public class Topic implements InterfaceTopic, InterfaceTopicValue, InterfaceTopi
     public void setRefreshIntervalUnit(TimeUnit refreshIntervalUnit) {
         this.refreshIntervalUnit = refreshIntervalUnit;
     }
-}
\ No newline at end of file
+
+    @XmlAttribute
+    public Integer getMaxRefreshIntervalValue() {
+        return maxRefreshIntervalValue;
+    }
+
+    public void setMaxRefreshIntervalValue(Integer maxRefreshIntervalValue) {
+        this.maxRefreshIntervalValue = maxRefreshIntervalValue;
+    }
+
+    @XmlAttribute
+    public TimeUnit getMaxRefreshIntervalUnit() {
+        return maxRefreshIntervalUnit;
+    }
+
+    public void setMaxRefreshIntervalUnit(TimeUnit maxRefreshIntervalUnit) {
+        this.maxRefreshIntervalUnit = maxRefreshIntervalUnit;
+    }
+
+    @XmlAttribute
+    public Double getTriggerThreshold() {
+        return triggerThreshold;
+    }
+
+    public void setTriggerThreshold(Double triggerThreshold) {
+        this.triggerThreshold = triggerThreshold;
+    }
+
+    @XmlAttribute
+    public Double getTriggerRate() {
+        return triggerRate;
+    }
+
+    public void setTriggerRate(Double triggerRate) {
+        this.triggerRate = triggerRate;
+    }
+
+    @XmlAttribute
+    public SystemConstants.PUBLISH getPublish() {
+        return publish;
+    }
+
+    public void setPublish(SystemConstants.PUBLISH publish) {
+        this.publish = publish;
+    }
+
+    @XmlAttribute
+    public Double getDeadbandAbsolute() {
+        return deadbandAbsolute;
+    }
+
+    public void setDeadbandAbsolute(Double deadbandAbsolute) {
+        this.deadbandAbsolute = deadbandAbsolute;
+    }
+
+    @XmlAttribute
+    public Double getDeadbandPercent() {
+        return deadbandPercent;
+    }
+
+    public void setDeadbandPercent(Double deadbandPercent) {
+        this.deadbandPercent = deadbandPercent;
+    }
+
+    @XmlAttribute
+    public Integer getHeartbeatIntervalValue() {
+        return heartbeatIntervalValue;
+    }
+
+    public void setHeartbeatIntervalValue(Integer heartbeatIntervalValue) {
+        this.heartbeatIntervalValue = heartbeatIntervalValue;
+    }
+
+    @XmlAttribute
+    public TimeUnit getHeartbeatIntervalUnit() {
+        return heartbeatIntervalUnit;
+    }
+
+    public void setHeartbeatIntervalUnit(TimeUnit heartbeatIntervalUnit) {
+        this.heartbeatIntervalUnit = heartbeatIntervalUnit;
+    }
+
+    @XmlAttribute
+    public Integer getSmoothingIntervalValue() {
+        return smoothingIntervalValue;
+    }
+
+    public void setSmoothingIntervalValue(Integer smoothingIntervalValue) {
+        this.smoothingIntervalValue = smoothingIntervalValue;
+    }
+
+    @XmlAttribute
+    public TimeUnit getSmoothingIntervalUnit() {
+        return smoothingIntervalUnit;
+    }
+
+    public void setSmoothingIntervalUnit(TimeUnit smoothingIntervalUnit) {
+        this.smoothingIntervalUnit = smoothingIntervalUnit;
+    }
+
+    @XmlAttribute
+    @XmlList
+    public List<SystemConstants.STATISTIC> getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(List<SystemConstants.STATISTIC> statistics) {
+        this.statistics = statistics;
+    }
+
+    @XmlAttribute
+    public Integer getStatisticsWindowValue() {
+        return statisticsWindowValue;
+    }
+
+    public void setStatisticsWindowValue(Integer statisticsWindowValue) {
+        this.statisticsWindowValue = statisticsWindowValue;
+    }
+
+    @XmlAttribute
+    public TimeUnit getStatisticsWindowUnit() {
+        return statisticsWindowUnit;
+    }
+
+    public void setStatisticsWindowUnit(TimeUnit statisticsWindowUnit) {
+        this.statisticsWindowUnit = statisticsWindowUnit;
+    }
+
+    @XmlTransient
+    public TopicReader getReader() {
+        return reader;
+    }
+
+    public void setReader(TopicReader reader) {
+        this.reader = reader;
+    }
+
+    @XmlTransient
+    public AdaptivePolling getAdaptivePolling() {
+        return adaptivePolling;
+    }
+
+    public void setAdaptivePolling(AdaptivePolling adaptivePolling) {
+        this.adaptivePolling = adaptivePolling;
+    }
+
+    @XmlTransient
+    public History getHistory() {
+        return history;
+    }
+
+    public void setHistory(History history) {
+        this.history = history;
+    }
+
+    @XmlTransient
+    public List<Topic> getStatisticTopics() {
+        return statisticTopics;
+    }
+
+    public void setStatisticTopics(List<Topic> statisticTopics) {
+        this.statisticTopics = statisticTopics;
+    }
+
+    @XmlTransient
+    public TopicMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(TopicMetrics metrics) {
+        this.metrics = metrics;
+    }
+}
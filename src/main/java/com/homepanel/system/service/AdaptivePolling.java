@@ -0,0 +1,161 @@
+package com.homepanel.system.service;
+
+import com.homepanel.system.config.Topic;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts the polling interval of a topic between its refresh interval and its maximum refresh interval. While the
+ * value crosses the trigger threshold or changes faster than the trigger rate the topic is read on every poll,
+ * otherwise the interval between reads doubles until it reaches the maximum. Polls between two reads are skipped.
+ */
+public class AdaptivePolling {
+
+    private final static TimeUnit DEFAULT_MAX_REFRESH_INTERVAL_UNIT = TimeUnit.SECONDS;
+
+    private final long minIntervalInMilliseconds;
+    private final long maxIntervalInMilliseconds;
+    private final Double threshold;
+    private final Double rate;
+    private long intervalInMilliseconds;
+    private long nextReadTimeInMilliseconds;
+    private double lastValue;
+    private long lastReadTimeInMilliseconds;
+    private boolean read;
+
+    /**
+     * @param threshold a value crossing it in either direction resets the interval to the minimum, may be null
+     * @param rate      a change per second above it resets the interval to the minimum, may be null
+     */
+    public AdaptivePolling(long minIntervalInMilliseconds, long maxIntervalInMilliseconds, Double threshold, Double rate) {
+        this.minIntervalInMilliseconds = minIntervalInMilliseconds;
+        this.maxIntervalInMilliseconds = maxIntervalInMilliseconds;
+        this.threshold = threshold;
+        this.rate = rate;
+        this.intervalInMilliseconds = minIntervalInMilliseconds;
+        this.lastValue = Double.NaN;
+    }
+
+    private long getMinIntervalInMilliseconds() {
+        return minIntervalInMilliseconds;
+    }
+
+    private long getMaxIntervalInMilliseconds() {
+        return maxIntervalInMilliseconds;
+    }
+
+    private Double getThreshold() {
+        return threshold;
+    }
+
+    private Double getRate() {
+        return rate;
+    }
+
+    public synchronized long getIntervalInMilliseconds() {
+        return intervalInMilliseconds;
+    }
+
+    /**
+     * @return null if the adaptive polling attributes of the topic are valid, a description of the error otherwise
+     */
+    public static String validate(Topic topic, boolean numeric) {
+
+        if (topic.getMaxRefreshIntervalValue() == null) {
+            if (topic.getTriggerThreshold() != null || topic.getTriggerRate() != null) {
+                return String.format("attributes \"triggerThreshold\" and \"triggerRate\" require attribute \"maxRefreshIntervalValue\" for topic \"%s\"", topic.getPath());
+            }
+            return null;
+        }
+
+        if (!numeric) {
+            return String.format("attribute \"maxRefreshIntervalValue\" is only supported for numeric channels, not for topic \"%s\" with group \"%s\" and channel \"%s\"", topic.getPath(), topic.getGroup(), topic.getChannel());
+        }
+
+        if (topic.getRefreshIntervalValue() == null || topic.getRefreshIntervalUnit() == null) {
+            return String.format("attributes \"refreshIntervalValue\" and \"refreshIntervalUnit\" are required for topic \"%s\" with attribute \"maxRefreshIntervalValue\"", topic.getPath());
+        }
+
+        if (getMaxIntervalInMilliseconds(topic) < getMinIntervalInMilliseconds(topic)) {
+            return String.format("maximum refresh interval of topic \"%s\" must not be lower than its refresh interval", topic.getPath());
+        }
+
+        if (topic.getTriggerThreshold() == null && topic.getTriggerRate() == null) {
+            return String.format("one of the attributes \"triggerThreshold\" and \"triggerRate\" is required for topic \"%s\" with attribute \"maxRefreshIntervalValue\"", topic.getPath());
+        }
+
+        if (topic.getTriggerRate() != null && topic.getTriggerRate() < 0) {
+            return String.format("attribute \"triggerRate\" of topic \"%s\" must not be negative", topic.getPath());
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the adaptive polling of a topic validated by {@link #validate(Topic, boolean)} or null if the topic
+     * polls at a fixed interval
+     */
+    public static AdaptivePolling create(Topic topic) {
+
+        if (topic.getMaxRefreshIntervalValue() == null) {
+            return null;
+        }
+
+        return new AdaptivePolling(getMinIntervalInMilliseconds(topic), getMaxIntervalInMilliseconds(topic), topic.getTriggerThreshold(), topic.getTriggerRate());
+    }
+
+    private static long getMinIntervalInMilliseconds(Topic topic) {
+        return topic.getRefreshIntervalUnit().toMillis(topic.getRefreshIntervalValue());
+    }
+
+    private static long getMaxIntervalInMilliseconds(Topic topic) {
+
+        TimeUnit maxRefreshIntervalUnit = topic.getMaxRefreshIntervalUnit() != null ? topic.getMaxRefreshIntervalUnit() : DEFAULT_MAX_REFRESH_INTERVAL_UNIT;
+
+        return maxRefreshIntervalUnit.toMillis(topic.getMaxRefreshIntervalValue());
+    }
+
+    /**
+     * @return true if the poll at the given time has to read the topic
+     */
+    public synchronized boolean isReadRequired(long jobRunningTimeInMilliseconds) {
+
+        // polls are scheduled at multiples of the minimum interval, so half of it absorbs their jitter
+        return !read || jobRunningTimeInMilliseconds >= nextReadTimeInMilliseconds - getMinIntervalInMilliseconds() / 2;
+    }
+
+    /**
+     * adapts the interval to the value read at the given time
+     */
+    public synchronized void update(Object value, long jobRunningTimeInMilliseconds) {
+
+        boolean triggered = true;
+
+        if (value instanceof Number) {
+
+            double currentValue = ((Number) value).doubleValue();
+
+            if (!Double.isNaN(lastValue)) {
+                triggered = isTriggered(currentValue, jobRunningTimeInMilliseconds);
+            }
+
+            lastValue = currentValue;
+            lastReadTimeInMilliseconds = jobRunningTimeInMilliseconds;
+        }
+
+        intervalInMilliseconds = triggered ? getMinIntervalInMilliseconds() : Math.min(intervalInMilliseconds * 2, getMaxIntervalInMilliseconds());
+        nextReadTimeInMilliseconds = jobRunningTimeInMilliseconds + intervalInMilliseconds;
+        read = true;
+    }
+
+    private boolean isTriggered(double value, long jobRunningTimeInMilliseconds) {
+
+        if (getThreshold() != null && (lastValue < getThreshold()) != (value < getThreshold())) {
+            return true;
+        }
+
+        long elapsedTimeInMilliseconds = jobRunningTimeInMilliseconds - lastReadTimeInMilliseconds;
+
+        return getRate() != null && elapsedTimeInMilliseconds > 0 && Math.abs(value - lastValue) * 1000D / elapsedTimeInMilliseconds > getRate();
+    }
+}
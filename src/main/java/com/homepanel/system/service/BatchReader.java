@@ -0,0 +1,64 @@
+package com.homepanel.system.service;
+
+import com.homepanel.system.system.client.DeviceNotFoundException;
+
+/**
+ * Reads all channels of a group within the same polling tick and combines them into one JSON object, channels without
+ * a value are left out and channels whose device can not be found are null.
+ */
+public class BatchReader implements TopicReader {
+
+    private final String[] names;
+    private final TopicReader[] readers;
+
+    public BatchReader(String[] names, TopicReader[] readers) {
+        this.names = names;
+        this.readers = readers;
+    }
+
+    private String[] getNames() {
+        return names;
+    }
+
+    private TopicReader[] getReaders() {
+        return readers;
+    }
+
+    @Override
+    public Object read(long jobRunningTimeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        StringBuilder builder = new StringBuilder(32 * getNames().length);
+        builder.append('{');
+
+        DeviceNotFoundException exception = null;
+        int failures = 0;
+
+        for (int i = 0; i < getReaders().length; i++) {
+
+            Object value = null;
+            boolean failed = false;
+
+            try {
+                value = getReaders()[i].read(jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+            } catch (DeviceNotFoundException e) {
+                exception = e;
+                failures++;
+                failed = true;
+            }
+
+            if (value != null || failed) {
+                if (builder.length() > 1) {
+                    builder.append(',');
+                }
+                Json.appendValue(Json.appendName(builder, getNames()[i]), value);
+            }
+        }
+
+        // a batch without any readable channel is as missing as its device
+        if (failures == getReaders().length) {
+            throw exception;
+        }
+
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.homepanel.system.service;
+
+import com.homepanel.system.system.client.DeviceNotFoundException;
+import com.homepanel.system.system.client.SystemInfo;
+
+import java.util.function.IntFunction;
+
+/**
+ * Reads a device addressed by name, the name is looked up in the device index of its group on every read and the
+ * reader is bound again only if the device moved to another index.
+ */
+public class DeviceReader implements TopicReader {
+
+    private final SystemInfo systemInfo;
+    private final SystemConstants.GROUP group;
+    private final String device;
+    private final IntFunction<TopicReader> binder;
+    private TopicReader reader;
+    private int readerIndex;
+
+    public DeviceReader(SystemInfo systemInfo, SystemConstants.GROUP group, String device, IntFunction<TopicReader> binder) {
+        this.systemInfo = systemInfo;
+        this.group = group;
+        this.device = device;
+        this.binder = binder;
+    }
+
+    private SystemInfo getSystemInfo() {
+        return systemInfo;
+    }
+
+    private SystemConstants.GROUP getGroup() {
+        return group;
+    }
+
+    private String getDevice() {
+        return device;
+    }
+
+    private IntFunction<TopicReader> getBinder() {
+        return binder;
+    }
+
+    @Override
+    public Object read(long jobRunningTimeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        int index = getSystemInfo().getDeviceIndex(getGroup(), getDevice(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+
+        TopicReader currentReader;
+
+        synchronized (this) {
+            if (reader == null || readerIndex != index) {
+                reader = getBinder().apply(index);
+                readerIndex = index;
+            }
+            currentReader = reader;
+        }
+
+        return currentReader.read(jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+    }
+}
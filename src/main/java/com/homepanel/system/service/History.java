@@ -0,0 +1,149 @@
+package com.homepanel.system.service;
+
+/**
+ * Fixed capacity ring buffer of the values read for one topic within a window ending at the newest value, stored as
+ * primitive timestamps and values. The aggregates are maintained when a value is appended or leaves the window, so
+ * reading them does not scan the window: minimum and maximum are kept in monotonic queues, the mean as running sum
+ * and quantiles in a sketch whose buckets are decremented again on eviction.
+ */
+public class History {
+
+    private final static double QUANTILE_RELATIVE_ACCURACY = 0.01;
+
+    private final long windowInMilliseconds;
+    private final long[] times;
+    private final double[] values;
+    private final long[] minSequences;
+    private final long[] maxSequences;
+    private final QuantileSketch sketch;
+    private long first;
+    private long next;
+    private int minHead;
+    private int minSize;
+    private int maxHead;
+    private int maxSize;
+    private double sum;
+    private long evictions;
+
+    /**
+     * @param quantiles whether quantiles are read, only then the sketch is maintained
+     */
+    public History(int capacity, long windowInMilliseconds, boolean quantiles) {
+        this.windowInMilliseconds = windowInMilliseconds;
+        this.times = new long[capacity];
+        this.values = new double[capacity];
+        this.minSequences = new long[capacity];
+        this.maxSequences = new long[capacity];
+        this.sketch = quantiles ? new QuantileSketch(QUANTILE_RELATIVE_ACCURACY) : null;
+    }
+
+    public int getCapacity() {
+        return times.length;
+    }
+
+    public long getWindowInMilliseconds() {
+        return windowInMilliseconds;
+    }
+
+    /**
+     * @return number of values within the window
+     */
+    public synchronized int getSize() {
+        return (int) (next - first);
+    }
+
+    public synchronized void add(long timeInMilliseconds, double value) {
+
+        if (next - first == times.length) {
+            evict();
+        }
+
+        int index = getIndex(next);
+        times[index] = timeInMilliseconds;
+        values[index] = value;
+
+        sum += value;
+        if (sketch != null) {
+            sketch.add(value);
+        }
+
+        // a queue only keeps values that can still become the minimum or maximum once older values left the window
+        while (minSize > 0 && values[getIndex(minSequences[getIndex(minHead + minSize - 1)])] >= value) {
+            minSize--;
+        }
+        minSequences[getIndex(minHead + minSize)] = next;
+        minSize++;
+
+        while (maxSize > 0 && values[getIndex(maxSequences[getIndex(maxHead + maxSize - 1)])] <= value) {
+            maxSize--;
+        }
+        maxSequences[getIndex(maxHead + maxSize)] = next;
+        maxSize++;
+
+        next++;
+
+        while (next - first > 1 && times[getIndex(first)] <= timeInMilliseconds - windowInMilliseconds) {
+            evict();
+        }
+    }
+
+    private void evict() {
+
+        double value = values[getIndex(first)];
+
+        sum -= value;
+        if (sketch != null) {
+            sketch.remove(value);
+        }
+
+        if (minSize > 0 && minSequences[minHead] == first) {
+            minHead = getIndex(minHead + 1);
+            minSize--;
+        }
+
+        if (maxSize > 0 && maxSequences[maxHead] == first) {
+            maxHead = getIndex(maxHead + 1);
+            maxSize--;
+        }
+
+        first++;
+
+        // the running sum is summed up again once per capacity, so rounding errors do not accumulate
+        if (++evictions % times.length == 0) {
+            sum = 0D;
+            for (long sequence = first; sequence < next; sequence++) {
+                sum += values[getIndex(sequence)];
+            }
+        }
+    }
+
+    private int getIndex(long sequence) {
+        return (int) (sequence % times.length);
+    }
+
+    /**
+     * @return the statistic over all values within the window or NaN if there are no values
+     */
+    public synchronized double getStatistic(SystemConstants.STATISTIC statistic) {
+
+        if (next == first) {
+            return Double.NaN;
+        }
+
+        switch (statistic) {
+            case MIN:
+                return values[getIndex(minSequences[minHead])];
+            case MAX:
+                return values[getIndex(maxSequences[maxHead])];
+            case MEAN:
+                return sum / (next - first);
+            case P95:
+                if (sketch == null) {
+                    throw new IllegalStateException("quantiles are not maintained by this history");
+                }
+                return sketch.getQuantile(0.95);
+            default:
+                throw new IllegalArgumentException("statistic " + statistic + " is not supported");
+        }
+    }
+}
@@ -0,0 +1,643 @@
+package com.homepanel.system.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append only store of the values read for all topics. Every day has its own segment file holding a header and
+ * fixed width records, written through memory mapped regions. The header holds the paths of the topics of the segment
+ * and the last record of every topic, and every record links to the previous record of its topic, so a query only
+ * visits the records of its topic. Polling threads only put values into a bounded queue, a single writer thread drains
+ * it into the segments and deletes segments older than the retention. Queries run on their own thread on read only
+ * mappings and see the values of the last drain.
+ */
+public class HistoryStore {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(HistoryStore.class);
+
+    private final static int MAGIC = 0x48535432;
+    private final static int MAX_TOPICS = 1024;
+    // the header starts with magic, record size, number of records and number of topics, followed by the last record
+    // of every topic and the paths of the topics as length prefixed UTF-8
+    private final static int HEADER_RECORDS_POSITION = 8;
+    private final static int HEADER_TOPICS_POSITION = 16;
+    private final static int HEADER_PATHS_SIZE_POSITION = 20;
+    private final static int HEADER_LAST_RECORDS_POSITION = 24;
+    private final static int HEADER_PATHS_POSITION = HEADER_LAST_RECORDS_POSITION + 4 * MAX_TOPICS;
+    private final static int HEADER_SIZE = 1 << 16;
+    // a record consists of topic, previous record of the topic, timestamp and value
+    private final static int RECORD_SIZE = 24;
+    private final static int NO_RECORD = -1;
+    private final static int RECORDS_PER_REGION = 1 << 18;
+    private final static long REGION_SIZE = (long) RECORDS_PER_REGION * RECORD_SIZE;
+    private final static int QUEUE_CAPACITY = 1 << 16;
+    private final static long DRAIN_INTERVAL_IN_MILLISECONDS = 1000L;
+    private final static long CLOSE_TIMEOUT_IN_MILLISECONDS = 10_000L;
+    private final static long MILLISECONDS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+    private final static String SEGMENT_SUFFIX = ".history";
+
+    /**
+     * values of one topic within a time range, ordered by the time they were stored
+     */
+    public static class Range {
+
+        private long[] times = new long[64];
+        private double[] values = new double[64];
+        private int size;
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getTime(int index) {
+            return times[index];
+        }
+
+        public double getValue(int index) {
+            return values[index];
+        }
+
+        private void add(long time, double value) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            times[size] = time;
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * the part of the segment currently written that queries may read, published after every drain
+     */
+    private static class SegmentState {
+
+        private final long day;
+        private final long records;
+        private final String[] paths;
+        private final int[] lastRecords;
+
+        private SegmentState(long day, long records, String[] paths, int[] lastRecords) {
+            this.day = day;
+            this.records = records;
+            this.paths = paths;
+            this.lastRecords = lastRecords;
+        }
+
+        private long getDay() {
+            return day;
+        }
+
+        private long getRecords() {
+            return records;
+        }
+
+        private String[] getPaths() {
+            return paths;
+        }
+
+        private int[] getLastRecords() {
+            return lastRecords;
+        }
+    }
+
+    private final Path directory;
+    private final int retentionDays;
+    private final ScheduledExecutorService executorService;
+    private final ExecutorService queryExecutorService;
+    private volatile SegmentState segmentState;
+
+    // the queue is shared by the polling threads and the writer thread
+    private final String[] queuedPaths;
+    private final long[] queuedTimes;
+    private final double[] queuedValues;
+    private int queueHead;
+    private int queueSize;
+    private long droppedValues;
+
+    // everything below is only used by the writer thread
+    private final String[] drainedPaths;
+    private final long[] drainedTimes;
+    private final double[] drainedValues;
+    private final int[] segmentLastRecords;
+    private final Map<String, Integer> segmentTopics;
+    private final List<String> segmentPaths;
+    private int segmentPathsSize;
+    private long segmentDay;
+    private FileChannel segmentChannel;
+    private MappedByteBuffer segmentHeader;
+    private MappedByteBuffer segmentRegion;
+    private long segmentRegionIndex;
+    private long segmentRecords;
+    private long segmentDroppedValues;
+
+    /**
+     * @param retentionDays number of days segments are kept, 0 keeps them forever
+     */
+    public HistoryStore(Path directory, int retentionDays) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.retentionDays = retentionDays;
+        this.queuedPaths = new String[QUEUE_CAPACITY];
+        this.queuedTimes = new long[QUEUE_CAPACITY];
+        this.queuedValues = new double[QUEUE_CAPACITY];
+        this.drainedPaths = new String[QUEUE_CAPACITY];
+        this.drainedTimes = new long[QUEUE_CAPACITY];
+        this.drainedValues = new double[QUEUE_CAPACITY];
+        this.segmentLastRecords = new int[MAX_TOPICS];
+        this.segmentTopics = new HashMap<>();
+        this.segmentPaths = new ArrayList<>();
+        this.segmentDay = Long.MIN_VALUE;
+        this.executorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-store");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.queryExecutorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executorService.scheduleWithFixedDelay(this::drainQueue, DRAIN_INTERVAL_IN_MILLISECONDS, DRAIN_INTERVAL_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+    }
+
+    private Path getDirectory() {
+        return directory;
+    }
+
+    private int getRetentionDays() {
+        return retentionDays;
+    }
+
+    private ScheduledExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    private ExecutorService getQueryExecutorService() {
+        return queryExecutorService;
+    }
+
+    private SegmentState getSegmentState() {
+        return segmentState;
+    }
+
+    private void setSegmentState(SegmentState segmentState) {
+        this.segmentState = segmentState;
+    }
+
+    /**
+     * queues a value for the writer thread, the value is dropped if the queue is full
+     */
+    public void append(String path, long timeInMilliseconds, double value) {
+        synchronized (queuedPaths) {
+            if (queueSize == QUEUE_CAPACITY) {
+                droppedValues++;
+                return;
+            }
+            int index = (queueHead + queueSize++) & (QUEUE_CAPACITY - 1);
+            queuedPaths[index] = path;
+            queuedTimes[index] = timeInMilliseconds;
+            queuedValues[index] = value;
+        }
+    }
+
+    /**
+     * reads the stored values of the topic within the given range on the query thread, values queued since the last
+     * drain are not contained yet
+     *
+     * @return the earliest values of the range, at most the given number of values
+     */
+    public CompletableFuture<Range> query(String path, long fromTimeInMilliseconds, long toTimeInMilliseconds, int limit) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return read(path, fromTimeInMilliseconds, toTimeInMilliseconds, limit);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, getQueryExecutorService());
+    }
+
+    /**
+     * writes all queued values and closes the current segment
+     */
+    public void close() {
+
+        getQueryExecutorService().shutdownNow();
+        getExecutorService().execute(() -> {
+            drainQueue();
+            closeSegment();
+        });
+        getExecutorService().shutdown();
+
+        try {
+            if (!getExecutorService().awaitTermination(CLOSE_TIMEOUT_IN_MILLISECONDS, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("history store did not write all values in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainQueue() {
+
+        int size;
+        long dropped;
+
+        synchronized (queuedPaths) {
+            size = queueSize;
+            dropped = droppedValues;
+            for (int i = 0; i < size; i++) {
+                int index = (queueHead + i) & (QUEUE_CAPACITY - 1);
+                drainedPaths[i] = queuedPaths[index];
+                drainedTimes[i] = queuedTimes[index];
+                drainedValues[i] = queuedValues[index];
+                queuedPaths[index] = null;
+            }
+            queueHead = (queueHead + size) & (QUEUE_CAPACITY - 1);
+            queueSize = 0;
+            droppedValues = 0;
+        }
+
+        if (dropped > 0) {
+            LOGGER.warn("history store dropped {} values because its queue was full", dropped);
+        }
+
+        try {
+            for (int i = 0; i < size; i++) {
+                write(drainedPaths[i], drainedTimes[i], drainedValues[i]);
+                drainedPaths[i] = null;
+            }
+            commitSegment();
+        } catch (IOException e) {
+            LOGGER.error("error while writing history to directory \"{}\"", getDirectory(), e);
+            closeSegment();
+        }
+
+        if (segmentDroppedValues > 0) {
+            LOGGER.warn("history store dropped {} values because the segment can not hold more topics", segmentDroppedValues);
+            segmentDroppedValues = 0;
+        }
+    }
+
+    private void write(String path, long timeInMilliseconds, double value) throws IOException {
+
+        long day = Math.floorDiv(timeInMilliseconds, MILLISECONDS_PER_DAY);
+
+        if (day != segmentDay) {
+            openSegment(day);
+        }
+
+        Integer topic = segmentTopics.get(path);
+
+        if (topic == null) {
+            topic = addSegmentTopic(path);
+            if (topic == null) {
+                segmentDroppedValues++;
+                return;
+            }
+        }
+
+        long regionIndex = segmentRecords / RECORDS_PER_REGION;
+
+        if (segmentRegion == null || regionIndex != segmentRegionIndex) {
+            segmentRegion = segmentChannel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + regionIndex * REGION_SIZE, REGION_SIZE);
+            segmentRegionIndex = regionIndex;
+        }
+
+        int position = (int) (segmentRecords % RECORDS_PER_REGION) * RECORD_SIZE;
+        segmentRegion.putInt(position, topic);
+        segmentRegion.putInt(position + 4, segmentLastRecords[topic]);
+        segmentRegion.putLong(position + 8, timeInMilliseconds);
+        segmentRegion.putDouble(position + 16, value);
+        segmentLastRecords[topic] = (int) segmentRecords;
+        segmentRecords++;
+    }
+
+    /**
+     * @return the number of the topic within the current segment or null if the header is full
+     */
+    private Integer addSegmentTopic(String path) {
+
+        byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+        int position = HEADER_PATHS_POSITION + segmentPathsSize;
+
+        if (segmentPaths.size() == MAX_TOPICS || bytes.length > Short.MAX_VALUE || position + 2 + bytes.length > HEADER_SIZE) {
+            return null;
+        }
+
+        segmentHeader.putShort(position, (short) bytes.length);
+        segmentHeader.put(position + 2, bytes);
+        segmentPathsSize += 2 + bytes.length;
+
+        int topic = segmentPaths.size();
+        segmentPaths.add(path);
+        segmentTopics.put(path, topic);
+        segmentLastRecords[topic] = NO_RECORD;
+
+        return topic;
+    }
+
+    /**
+     * writes the number of records and the last record of every topic to the header and publishes them to queries
+     */
+    private void commitSegment() {
+
+        if (segmentHeader == null) {
+            return;
+        }
+
+        for (int topic = 0; topic < segmentPaths.size(); topic++) {
+            segmentHeader.putInt(HEADER_LAST_RECORDS_POSITION + 4 * topic, segmentLastRecords[topic]);
+        }
+
+        segmentHeader.putInt(HEADER_PATHS_SIZE_POSITION, segmentPathsSize);
+        segmentHeader.putInt(HEADER_TOPICS_POSITION, segmentPaths.size());
+        segmentHeader.putLong(HEADER_RECORDS_POSITION, segmentRecords);
+
+        setSegmentState(new SegmentState(segmentDay, segmentRecords, segmentPaths.toArray(new String[0]), Arrays.copyOf(segmentLastRecords, segmentPaths.size())));
+    }
+
+    private void openSegment(long day) throws IOException {
+
+        closeSegment();
+
+        Path path = getSegmentPath(day);
+
+        segmentChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segmentHeader = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        segmentTopics.clear();
+        segmentPaths.clear();
+
+        if (segmentHeader.getInt(0) == MAGIC && segmentHeader.getInt(4) == RECORD_SIZE) {
+            segmentRecords = segmentHeader.getLong(HEADER_RECORDS_POSITION);
+            segmentPathsSize = segmentHeader.getInt(HEADER_PATHS_SIZE_POSITION);
+            String[] paths = readPaths(segmentHeader, segmentHeader.getInt(HEADER_TOPICS_POSITION));
+            for (int topic = 0; topic < paths.length; topic++) {
+                segmentPaths.add(paths[topic]);
+                segmentTopics.put(paths[topic], topic);
+                segmentLastRecords[topic] = segmentHeader.getInt(HEADER_LAST_RECORDS_POSITION + 4 * topic);
+            }
+        } else {
+            if (segmentHeader.getInt(0) != 0) {
+                LOGGER.warn("history segment \"{}\" has an unknown format and is overwritten", path);
+            }
+            segmentHeader.putInt(0, MAGIC);
+            segmentHeader.putInt(4, RECORD_SIZE);
+            segmentRecords = 0;
+            segmentPathsSize = 0;
+        }
+
+        segmentDay = day;
+
+        commitSegment();
+        deleteExpiredSegments(day);
+    }
+
+    private void closeSegment() {
+
+        if (segmentChannel != null) {
+            try {
+                commitSegment();
+                segmentHeader.force();
+                if (segmentRegion != null) {
+                    segmentRegion.force();
+                }
+                segmentChannel.close();
+            } catch (IOException e) {
+                LOGGER.error("error while closing history segment of directory \"{}\"", getDirectory(), e);
+            }
+        }
+
+        segmentChannel = null;
+        segmentHeader = null;
+        segmentRegion = null;
+        segmentDay = Long.MIN_VALUE;
+    }
+
+    private static String[] readPaths(ByteBuffer header, int topics) {
+
+        String[] paths = new String[topics];
+        int position = HEADER_PATHS_POSITION;
+
+        for (int topic = 0; topic < topics; topic++) {
+            byte[] bytes = new byte[header.getShort(position)];
+            header.get(position + 2, bytes);
+            paths[topic] = new String(bytes, StandardCharsets.UTF_8);
+            position += 2 + bytes.length;
+        }
+
+        return paths;
+    }
+
+    private Range read(String path, long fromTimeInMilliseconds, long toTimeInMilliseconds, int limit) throws IOException {
+
+        Range range = new Range();
+
+        if (limit <= 0) {
+            return range;
+        }
+
+        // the records of a topic are visited from the newest one, so the ring keeps the earliest values of a segment
+        long[] times = new long[limit];
+        double[] values = new double[limit];
+
+        for (long day : getSegmentDays(Math.floorDiv(fromTimeInMilliseconds, MILLISECONDS_PER_DAY), Math.floorDiv(toTimeInMilliseconds, MILLISECONDS_PER_DAY))) {
+
+            if (range.getSize() >= limit) {
+                break;
+            }
+
+            Path segmentPath = getSegmentPath(day);
+            SegmentState state = getSegmentState();
+
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+
+                long records;
+                String[] paths;
+                int[] lastRecords;
+
+                if (state != null && state.getDay() == day) {
+                    records = state.getRecords();
+                    paths = state.getPaths();
+                    lastRecords = state.getLastRecords();
+                } else {
+
+                    MappedByteBuffer header = channel.size() >= HEADER_SIZE ? channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE) : null;
+
+                    if (header == null || header.getInt(0) != MAGIC || header.getInt(4) != RECORD_SIZE) {
+                        LOGGER.warn("history segment \"{}\" has an unknown format", segmentPath);
+                        continue;
+                    }
+
+                    records = header.getLong(HEADER_RECORDS_POSITION);
+                    paths = readPaths(header, header.getInt(HEADER_TOPICS_POSITION));
+                    lastRecords = new int[paths.length];
+                    for (int topic = 0; topic < paths.length; topic++) {
+                        lastRecords[topic] = header.getInt(HEADER_LAST_RECORDS_POSITION + 4 * topic);
+                    }
+                }
+
+                int topic = Arrays.asList(paths).indexOf(path);
+
+                if (topic < 0) {
+                    continue;
+                }
+
+                int count = readTopic(channel, records, topic, lastRecords[topic], fromTimeInMilliseconds, toTimeInMilliseconds, times, values, limit - range.getSize());
+
+                for (int i = count - 1; i >= 0; i--) {
+                    range.add(times[i], values[i]);
+                }
+            } catch (NoSuchFileException e) {
+                // the segment expired since the directory was listed
+            }
+        }
+
+        return range;
+    }
+
+    /**
+     * follows the records of the topic from its last record until the start of the range
+     *
+     * @return the number of values put into the ring in descending order of time, at most the given limit
+     */
+    private static int readTopic(FileChannel channel, long records, int topic, int lastRecord, long fromTimeInMilliseconds, long toTimeInMilliseconds, long[] times, double[] values, int limit) throws IOException {
+
+        MappedByteBuffer region = null;
+        long regionIndex = -1;
+        int count = 0;
+        int next = 0;
+
+        for (long record = lastRecord; record != NO_RECORD; ) {
+
+            // a record outside the published records or of another topic ends the chain
+            if (record < 0 || record >= records) {
+                break;
+            }
+
+            if (record / RECORDS_PER_REGION != regionIndex) {
+                regionIndex = record / RECORDS_PER_REGION;
+                long regionRecords = Math.min(RECORDS_PER_REGION, records - regionIndex * RECORDS_PER_REGION);
+                region = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + regionIndex * REGION_SIZE, regionRecords * RECORD_SIZE);
+            }
+
+            int position = (int) (record % RECORDS_PER_REGION) * RECORD_SIZE;
+
+            if (region.getInt(position) != topic) {
+                break;
+            }
+
+            long time = region.getLong(position + 8);
+
+            // the values of a topic are stored in the order of their polling ticks
+            if (time < fromTimeInMilliseconds) {
+                break;
+            }
+
+            if (time <= toTimeInMilliseconds) {
+                times[next] = time;
+                values[next] = region.getDouble(position + 16);
+                next = next + 1 == limit ? 0 : next + 1;
+                count++;
+            }
+
+            record = region.getInt(position + 4);
+        }
+
+        // the ring holds the earliest values of the range once more values than the limit were visited
+        if (count > limit) {
+            rotate(times, values, next, limit);
+            count = limit;
+        }
+
+        return count;
+    }
+
+    private static void rotate(long[] times, double[] values, int start, int length) {
+
+        long[] rotatedTimes = new long[length];
+        double[] rotatedValues = new double[length];
+
+        for (int i = 0; i < length; i++) {
+            rotatedTimes[i] = times[(start + i) % length];
+            rotatedValues[i] = values[(start + i) % length];
+        }
+
+        System.arraycopy(rotatedTimes, 0, times, 0, length);
+        System.arraycopy(rotatedValues, 0, values, 0, length);
+    }
+
+    private Path getSegmentPath(long day) {
+        return getDirectory().resolve(LocalDate.ofEpochDay(day) + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * @return the ascending days of all existing segments between the given days
+     */
+    private long[] getSegmentDays(long fromDay, long toDay) throws IOException {
+
+        long[] days = new long[16];
+        int size = 0;
+
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(getDirectory(), "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : segments) {
+                String name = segment.getFileName().toString();
+                try {
+                    long day = LocalDate.parse(name.substring(0, name.length() - SEGMENT_SUFFIX.length())).toEpochDay();
+                    if (day >= fromDay && day <= toDay) {
+                        if (size == days.length) {
+                            days = Arrays.copyOf(days, size * 2);
+                        }
+                        days[size++] = day;
+                    }
+                } catch (DateTimeParseException e) {
+                    // not a segment of this store
+                }
+            }
+        }
+
+        days = Arrays.copyOf(days, size);
+        Arrays.sort(days);
+
+        return days;
+    }
+
+    private void deleteExpiredSegments(long day) {
+
+        if (getRetentionDays() <= 0) {
+            return;
+        }
+
+        try {
+            for (long segmentDay : getSegmentDays(Long.MIN_VALUE, day - getRetentionDays())) {
+                Files.delete(getSegmentPath(segmentDay));
+                LOGGER.info("deleted expired history segment \"{}\"", getSegmentPath(segmentDay));
+            }
+        } catch (IOException e) {
+            LOGGER.error("error while deleting expired history segments of directory \"{}\"", getDirectory(), e);
+        }
+    }
+}
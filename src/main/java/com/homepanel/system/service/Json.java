@@ -0,0 +1,67 @@
+package com.homepanel.system.service;
+
+/**
+ * Minimal JSON writer for the compact payloads published by the service.
+ */
+public class Json {
+
+    public static StringBuilder appendName(StringBuilder builder, String name) {
+        return appendString(builder, name).append(':');
+    }
+
+    public static StringBuilder appendValue(StringBuilder builder, Object value) {
+
+        if (value == null) {
+            return builder.append("null");
+        }
+
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            return Double.isNaN(number) || Double.isInfinite(number) ? builder.append("null") : builder.append(number);
+        }
+
+        if (value instanceof Number || value instanceof Boolean) {
+            return builder.append(value);
+        }
+
+        return appendString(builder, value.toString());
+    }
+
+    public static StringBuilder appendValue(StringBuilder builder, double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? builder.append("null") : builder.append(value);
+    }
+
+    public static StringBuilder appendString(StringBuilder builder, String value) {
+
+        builder.append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (character < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        builder.append(character);
+                    }
+            }
+        }
+
+        return builder.append('"');
+    }
+}
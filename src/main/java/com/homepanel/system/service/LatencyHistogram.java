@@ -0,0 +1,116 @@
+package com.homepanel.system.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram of durations in nanoseconds. Every power of two is split into eight buckets, so quantiles are
+ * reported with a relative error of at most 12.5%.
+ */
+public class LatencyHistogram {
+
+    private final static int SUB_BUCKET_BITS = 3;
+    private final static int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private final static int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private final static double NANOSECONDS_PER_MILLISECOND = 1_000_000d;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong max;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.max = new AtomicLong();
+    }
+
+    private AtomicLongArray getCounts() {
+        return counts;
+    }
+
+    private AtomicLong getMax() {
+        return max;
+    }
+
+    public void record(long durationInNanoseconds) {
+
+        long duration = Math.max(0, durationInNanoseconds);
+
+        getCounts().incrementAndGet(getBucket(duration));
+
+        long currentMax = getMax().get();
+        while (duration > currentMax && !getMax().compareAndSet(currentMax, duration)) {
+            currentMax = getMax().get();
+        }
+    }
+
+    private static int getBucket(long duration) {
+
+        if (duration < SUB_BUCKETS) {
+            return (int) duration;
+        }
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(duration);
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + (int) ((duration >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+    }
+
+    private static long getUpperBound(int bucket) {
+
+        if (bucket < SUB_BUCKETS - 1) {
+            return bucket;
+        }
+
+        if (bucket == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+
+        int next = bucket + 1;
+
+        return ((long) (SUB_BUCKETS + next % SUB_BUCKETS) << (next / SUB_BUCKETS - 1)) - 1;
+    }
+
+    /**
+     * appends count, quantiles and maximum in milliseconds of the durations recorded since the last call as JSON
+     * object and resets the histogram
+     */
+    public StringBuilder drainToJson(StringBuilder builder) {
+
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = getCounts().getAndSet(i, 0);
+            count += snapshot[i];
+        }
+
+        long maxDuration = getMax().getAndSet(0);
+
+        builder.append('{');
+        Json.appendName(builder, "count").append(count).append(',');
+        appendQuantile(builder, "p50", snapshot, count, 0.5, maxDuration).append(',');
+        appendQuantile(builder, "p90", snapshot, count, 0.9, maxDuration).append(',');
+        appendQuantile(builder, "p99", snapshot, count, 0.99, maxDuration).append(',');
+        Json.appendName(builder, "max");
+        Json.appendValue(builder, count > 0 ? maxDuration / NANOSECONDS_PER_MILLISECOND : Double.NaN);
+
+        return builder.append('}');
+    }
+
+    private static StringBuilder appendQuantile(StringBuilder builder, String name, long[] snapshot, long count, double quantile, long maxDuration) {
+
+        Json.appendName(builder, name);
+
+        if (count == 0) {
+            return builder.append("null");
+        }
+
+        long rank = (long) Math.ceil(quantile * count);
+        long cumulativeCount = 0;
+        int bucket = 0;
+
+        while (bucket < BUCKETS - 1 && cumulativeCount + snapshot[bucket] < rank) {
+            cumulativeCount += snapshot[bucket++];
+        }
+
+        return Json.appendValue(builder, Math.min(getUpperBound(bucket), maxDuration) / NANOSECONDS_PER_MILLISECOND);
+    }
+}
@@ -0,0 +1,251 @@
+package com.homepanel.system.service;
+
+import com.homepanel.system.config.Topic;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Serves the last published value of every numeric topic in the OpenMetrics text format. A scrape only reads the
+ * values already collected by the polling threads and renders them into a reused buffer.
+ */
+public class MetricsEndpoint {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(MetricsEndpoint.class);
+
+    private final static String PATH = "/metrics";
+    private final static String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private final static String METRIC_PREFIX = "homepanel_system_";
+    private final static byte[] EOF = "# EOF\n".getBytes(StandardCharsets.US_ASCII);
+    private final static byte[] NAN = "NaN".getBytes(StandardCharsets.US_ASCII);
+    private final static byte[] POSITIVE_INFINITY = "+Inf".getBytes(StandardCharsets.US_ASCII);
+    private final static byte[] NEGATIVE_INFINITY = "-Inf".getBytes(StandardCharsets.US_ASCII);
+    private final static int FRACTION_DIGITS = 6;
+    private final static long FRACTION_SCALE = 1_000_000L;
+    private final static double MAX_FIXED_POINT_VALUE = Long.MAX_VALUE / (double) FRACTION_SCALE;
+
+    private final HttpServer server;
+    // topics are ordered by their metric family, every family is preceded by its type line
+    private final Topic[] topics;
+    private final int[] families;
+    private final byte[][] typeLines;
+    private final byte[][] prefixes;
+    private byte[] output;
+    private int length;
+
+    public MetricsEndpoint(InetSocketAddress address, List<Topic> topics) throws IOException {
+
+        Map<String, List<Topic>> topicsByFamily = new LinkedHashMap<>();
+
+        for (Topic topic : topics) {
+            topicsByFamily.computeIfAbsent(getMetricName(topic), name -> new ArrayList<>()).add(topic);
+        }
+
+        this.topics = new Topic[topics.size()];
+        this.families = new int[topics.size()];
+        this.typeLines = new byte[topicsByFamily.size()][];
+        this.prefixes = new byte[topics.size()][];
+
+        int family = 0;
+        int index = 0;
+
+        for (Map.Entry<String, List<Topic>> entry : topicsByFamily.entrySet()) {
+            this.typeLines[family] = ("# TYPE " + entry.getKey() + " gauge\n").getBytes(StandardCharsets.UTF_8);
+            for (Topic topic : entry.getValue()) {
+                this.topics[index] = topic;
+                this.families[index] = family;
+                this.prefixes[index++] = (entry.getKey() + "{path=\"" + escape(topic.getPath()) + "\"} ").getBytes(StandardCharsets.UTF_8);
+            }
+            family++;
+        }
+
+        this.output = new byte[4096];
+        this.server = HttpServer.create(address, 0);
+        // the default executor handles one exchange at a time, which keeps the reused buffer safe
+        this.server.setExecutor(null);
+        this.server.createContext(PATH, this::handle);
+    }
+
+    private HttpServer getServer() {
+        return server;
+    }
+
+    private Topic[] getTopics() {
+        return topics;
+    }
+
+    private int[] getFamilies() {
+        return families;
+    }
+
+    private byte[][] getTypeLines() {
+        return typeLines;
+    }
+
+    private byte[][] getPrefixes() {
+        return prefixes;
+    }
+
+    public void start() {
+        getServer().start();
+        LOGGER.info("serving metrics of {} topics at \"{}{}\"", getTopics().length, getServer().getAddress(), PATH);
+    }
+
+    public void stop() {
+        getServer().stop(0);
+    }
+
+    private static String getMetricName(Topic topic) {
+        return (METRIC_PREFIX + topic.getGroup() + "_" + topic.getChannel()).toLowerCase(Locale.ROOT);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            render();
+
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, length);
+
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(output, 0, length);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void render() {
+
+        length = 0;
+        int renderedFamily = -1;
+
+        for (int i = 0; i < getTopics().length; i++) {
+
+            Object value = getTopics()[i].getLastValue();
+
+            if (value instanceof Number || value instanceof Boolean) {
+                if (getFamilies()[i] != renderedFamily) {
+                    renderedFamily = getFamilies()[i];
+                    append(getTypeLines()[renderedFamily]);
+                }
+                append(getPrefixes()[i]);
+                appendValue(value);
+                appendByte('\n');
+            }
+        }
+
+        append(EOF);
+    }
+
+    private void appendValue(Object value) {
+
+        if (value instanceof Boolean) {
+            appendByte((Boolean) value ? '1' : '0');
+        } else if (value instanceof Double || value instanceof Float) {
+            appendDouble(((Number) value).doubleValue());
+        } else {
+            appendLong(((Number) value).longValue());
+        }
+    }
+
+    private void appendDouble(double value) {
+
+        if (Double.isNaN(value)) {
+            append(NAN);
+        } else if (Double.isInfinite(value)) {
+            append(value > 0 ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+        } else if (Math.abs(value) >= MAX_FIXED_POINT_VALUE) {
+            append(Double.toString(value).getBytes(StandardCharsets.US_ASCII));
+        } else {
+
+            long fixedPoint = Math.round(Math.abs(value) * FRACTION_SCALE);
+
+            if (value < 0 && fixedPoint != 0) {
+                appendByte('-');
+            }
+
+            appendLong(fixedPoint / FRACTION_SCALE);
+
+            long fraction = fixedPoint % FRACTION_SCALE;
+
+            if (fraction != 0) {
+                appendByte('.');
+                int digits = FRACTION_DIGITS;
+                while (fraction % 10 == 0) {
+                    fraction /= 10;
+                    digits--;
+                }
+                ensureCapacity(digits);
+                for (int i = digits - 1; i >= 0; i--) {
+                    output[length + i] = (byte) ('0' + fraction % 10);
+                    fraction /= 10;
+                }
+                length += digits;
+            }
+        }
+    }
+
+    private void appendLong(long value) {
+
+        if (value == Long.MIN_VALUE) {
+            append(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+
+        if (value < 0) {
+            appendByte('-');
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+
+        ensureCapacity(digits);
+        for (int i = digits - 1; i >= 0; i--) {
+            output[length + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, output, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void appendByte(char character) {
+        ensureCapacity(1);
+        output[length++] = (byte) character;
+    }
+
+    private void ensureCapacity(int additionalLength) {
+        if (length + additionalLength > output.length) {
+            output = Arrays.copyOf(output, Math.max(output.length * 2, length + additionalLength));
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.homepanel.system.service;
+
+import com.homepanel.system.config.Topic;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded off-heap ring of values whose publishing failed, kept in the order they were published. If a value does not
+ * fit, the buffer either drops the oldest values or first conflates the buffered values to the newest of every topic.
+ * Buffered values of a topic whose newer value was published live in the meantime are superseded and never replayed.
+ */
+public class PublishBuffer {
+
+    private final static int RECORD_HEADER_SIZE = 9;
+    private final static int MAX_RECORD_SIZE = 64 * 1024;
+
+    /**
+     * smallest capacity that still holds a record of every fixed size type
+     */
+    public final static int MIN_CAPACITY_IN_BYTES = RECORD_HEADER_SIZE + Long.BYTES;
+
+    private final static byte TAG_DOUBLE = 0;
+    private final static byte TAG_LONG = 1;
+    private final static byte TAG_INTEGER = 2;
+    private final static byte TAG_BOOLEAN = 3;
+    private final static byte TAG_STRING = 4;
+
+    /**
+     * buffered value, removed from the buffer by {@link #remove(Entry)} once it is published
+     */
+    public static class Entry {
+
+        private final long sequence;
+        private final Topic topic;
+        private final Object value;
+
+        private Entry(long sequence, Topic topic, Object value) {
+            this.sequence = sequence;
+            this.topic = topic;
+            this.value = value;
+        }
+
+        private long getSequence() {
+            return sequence;
+        }
+
+        public Topic getTopic() {
+            return topic;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final ByteBuffer record;
+    private final SystemConstants.OVERFLOW overflow;
+    private final List<Topic> topics;
+    private final Map<Topic, Integer> topicIds;
+    private long[] publishedSequences;
+    private int head;
+    private int size;
+    private int count;
+    private long headSequence;
+    private long droppedValues;
+
+    public PublishBuffer(int capacityInBytes, SystemConstants.OVERFLOW overflow) {
+        this.buffer = ByteBuffer.allocateDirect(capacityInBytes);
+        this.record = ByteBuffer.allocate(Math.min(capacityInBytes, MAX_RECORD_SIZE));
+        this.overflow = overflow;
+        this.topics = new ArrayList<>();
+        this.topicIds = new IdentityHashMap<>();
+        this.publishedSequences = new long[0];
+    }
+
+    private ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    private ByteBuffer getRecord() {
+        return record;
+    }
+
+    private SystemConstants.OVERFLOW getOverflow() {
+        return overflow;
+    }
+
+    private List<Topic> getTopics() {
+        return topics;
+    }
+
+    private Map<Topic, Integer> getTopicIds() {
+        return topicIds;
+    }
+
+    private long[] getPublishedSequences() {
+        return publishedSequences;
+    }
+
+    private void setPublishedSequences(long[] publishedSequences) {
+        this.publishedSequences = publishedSequences;
+    }
+
+    /**
+     * @return number of buffered values
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * @return number of bytes used by the buffered values
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * @return number of values dropped, conflated or superseded since the buffer was created
+     */
+    public synchronized long getDroppedValues() {
+        return droppedValues;
+    }
+
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    public synchronized void add(Topic topic, Object value) {
+
+        if (!encode(topic, value)) {
+            droppedValues++;
+            return;
+        }
+
+        int length = getRecord().remaining();
+
+        if (getBuffer().capacity() - size < length && getOverflow() == SystemConstants.OVERFLOW.CONFLATE) {
+            conflate();
+            encode(topic, value);
+        }
+
+        while (getBuffer().capacity() - size < length) {
+            removeHead();
+            droppedValues++;
+        }
+
+        write((head + size) % getBuffer().capacity(), getRecord());
+        size += length;
+        count++;
+    }
+
+    /**
+     * supersedes all buffered values of the topic, called after a newer value of it was published
+     */
+    public synchronized void onPublished(Topic topic) {
+
+        Integer topicId = getTopicIds().get(topic);
+
+        if (topicId != null) {
+            getPublishedSequences()[topicId] = headSequence + count;
+        }
+    }
+
+    /**
+     * @return true if a newer value of the topic of the entry was published after it was peeked
+     */
+    public synchronized boolean isSuperseded(Entry entry) {
+        return entry.getSequence() < getPublishedSequences()[getTopicIds().get(entry.getTopic())];
+    }
+
+    /**
+     * @return the oldest buffered value that is not superseded or null if there is none, superseded values are removed
+     */
+    public synchronized Entry peek() {
+
+        while (count > 0 && headSequence < getPublishedSequences()[topicId(head)]) {
+            removeHead();
+            droppedValues++;
+        }
+
+        if (count == 0) {
+            return null;
+        }
+
+        read(head, getRecord());
+
+        return new Entry(headSequence, getTopics().get(getRecord().getInt(4)), decode(getRecord()));
+    }
+
+    /**
+     * removes a value returned by {@link #peek()}, unless it has been dropped in the meantime
+     */
+    public synchronized void remove(Entry entry) {
+
+        if (count > 0 && entry.getSequence() == headSequence) {
+            removeHead();
+        }
+    }
+
+    private void removeHead() {
+
+        int length = recordLength(head);
+        head = (head + length) % getBuffer().capacity();
+        size -= length;
+        headSequence++;
+        count--;
+    }
+
+    /**
+     * keeps only the newest buffered value of every topic, compacting the ring in place
+     */
+    private void conflate() {
+
+        int[] newestRecords = new int[getTopics().size()];
+        Arrays.fill(newestRecords, -1);
+
+        // superseded values are not kept, even if they are the newest of their topic
+        int position = head;
+        for (int i = 0; i < count; i++) {
+            int topicId = topicId(position);
+            if (headSequence + i >= getPublishedSequences()[topicId]) {
+                newestRecords[topicId] = i;
+            }
+            position = (position + recordLength(position)) % getBuffer().capacity();
+        }
+
+        // kept records only move towards the head, so every record is read before it can be overwritten
+        int readPosition = head;
+        int writeSize = 0;
+        int keptCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            read(readPosition, getRecord());
+            readPosition = (readPosition + getRecord().remaining()) % getBuffer().capacity();
+            if (newestRecords[getRecord().getInt(4)] == i) {
+                int length = getRecord().remaining();
+                write((head + writeSize) % getBuffer().capacity(), getRecord());
+                writeSize += length;
+                keptCount++;
+            }
+        }
+
+        droppedValues += count - keptCount;
+        // values peeked before are no longer at the head, so they are not removed
+        headSequence += count;
+        size = writeSize;
+        count = keptCount;
+    }
+
+    private int recordLength(int position) {
+        return getInt(position);
+    }
+
+    private int topicId(int position) {
+        return getInt((position + 4) % getBuffer().capacity());
+    }
+
+    private int getInt(int position) {
+
+        int value = 0;
+
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (getBuffer().get((position + i) % getBuffer().capacity()) & 0xff);
+        }
+
+        return value;
+    }
+
+    private void write(int position, ByteBuffer source) {
+
+        int length = source.remaining();
+        int firstLength = Math.min(length, getBuffer().capacity() - position);
+
+        for (int i = 0; i < length; i++) {
+            getBuffer().put(i < firstLength ? position + i : i - firstLength, source.get(source.position() + i));
+        }
+    }
+
+    private void read(int position, ByteBuffer target) {
+
+        int length = recordLength(position);
+
+        target.clear();
+        for (int i = 0; i < length; i++) {
+            target.put(getBuffer().get((position + i) % getBuffer().capacity()));
+        }
+        target.flip();
+    }
+
+    /**
+     * encodes length, topic id, type and value of a record into the record buffer
+     *
+     * @return false if the record is larger than the record buffer
+     */
+    private boolean encode(Topic topic, Object value) {
+
+        Integer topicId = getTopicIds().get(topic);
+
+        if (topicId == null) {
+            topicId = getTopics().size();
+            getTopics().add(topic);
+            getTopicIds().put(topic, topicId);
+            setPublishedSequences(Arrays.copyOf(getPublishedSequences(), getTopics().size()));
+        }
+
+        ByteBuffer record = getRecord();
+        record.clear();
+        record.position(4);
+        record.putInt(topicId);
+
+        if (value instanceof Double) {
+            record.put(TAG_DOUBLE).putDouble((Double) value);
+        } else if (value instanceof Long) {
+            record.put(TAG_LONG).putLong((Long) value);
+        } else if (value instanceof Integer) {
+            record.put(TAG_INTEGER).putInt((Integer) value);
+        } else if (value instanceof Boolean) {
+            record.put(TAG_BOOLEAN).put((byte) ((Boolean) value ? 1 : 0));
+        } else {
+            byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+            if (RECORD_HEADER_SIZE + bytes.length > record.capacity()) {
+                return false;
+            }
+            record.put(TAG_STRING).put(bytes);
+        }
+
+        record.putInt(0, record.position());
+        record.flip();
+
+        return true;
+    }
+
+    private static Object decode(ByteBuffer record) {
+
+        switch (record.get(8)) {
+            case TAG_DOUBLE:
+                return record.getDouble(RECORD_HEADER_SIZE);
+            case TAG_LONG:
+                return record.getLong(RECORD_HEADER_SIZE);
+            case TAG_INTEGER:
+                return record.getInt(RECORD_HEADER_SIZE);
+            case TAG_BOOLEAN:
+                return record.get(RECORD_HEADER_SIZE) != 0;
+            default:
+                return new String(record.array(), RECORD_HEADER_SIZE, record.remaining() - RECORD_HEADER_SIZE, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.homepanel.system.service;
+
+import com.homepanel.system.config.Topic;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether a polled value is published, based on the publish mode, the deadbands and the heartbeat of its
+ * topic compared to the last published value.
+ */
+public class PublishPolicy {
+
+    private final static TimeUnit DEFAULT_HEARTBEAT_INTERVAL_UNIT = TimeUnit.SECONDS;
+
+    /**
+     * @return null if the publish attributes of the topic are valid, a description of the error otherwise
+     */
+    public static String validate(Topic topic, boolean numeric) {
+
+        // every value is published anyway unless the topic publishes on change only
+        if ((topic.getDeadbandAbsolute() != null || topic.getDeadbandPercent() != null || topic.getHeartbeatIntervalValue() != null) && topic.getPublish() != SystemConstants.PUBLISH.ON_CHANGE) {
+            return String.format("attributes \"deadbandAbsolute\", \"deadbandPercent\" and \"heartbeatIntervalValue\" require publish \"%s\" for topic \"%s\"", SystemConstants.PUBLISH.ON_CHANGE, topic.getPath());
+        }
+
+        if ((topic.getDeadbandAbsolute() != null || topic.getDeadbandPercent() != null) && !numeric) {
+            return String.format("attributes \"deadbandAbsolute\" and \"deadbandPercent\" are only supported for numeric channels, not for topic \"%s\" with group \"%s\" and channel \"%s\"", topic.getPath(), topic.getGroup(), topic.getChannel());
+        }
+
+        if ((topic.getDeadbandAbsolute() != null && topic.getDeadbandAbsolute() < 0) || (topic.getDeadbandPercent() != null && topic.getDeadbandPercent() < 0)) {
+            return String.format("deadbands of topic \"%s\" must not be negative", topic.getPath());
+        }
+
+        if (topic.getHeartbeatIntervalValue() != null && topic.getHeartbeatIntervalValue() <= 0) {
+            return String.format("attribute \"heartbeatIntervalValue\" of topic \"%s\" must be positive", topic.getPath());
+        }
+
+        return null;
+    }
+
+    public static boolean isPublishRequired(Topic topic, Object value, LocalDateTime dateTime) {
+
+        if (topic.getLastDateTime() == null) {
+            return true;
+        }
+
+        if (topic.getHeartbeatIntervalValue() != null) {
+            TimeUnit heartbeatIntervalUnit = topic.getHeartbeatIntervalUnit() != null ? topic.getHeartbeatIntervalUnit() : DEFAULT_HEARTBEAT_INTERVAL_UNIT;
+            if (Duration.between(topic.getLastDateTime(), dateTime).toMillis() >= heartbeatIntervalUnit.toMillis(topic.getHeartbeatIntervalValue())) {
+                return true;
+            }
+        }
+
+        if (topic.getPublish() != SystemConstants.PUBLISH.ON_CHANGE) {
+            return true;
+        }
+
+        Object lastValue = topic.getLastValue();
+
+        if (value instanceof Number && lastValue instanceof Number && (topic.getDeadbandAbsolute() != null || topic.getDeadbandPercent() != null)) {
+            return isOutsideDeadband(topic, ((Number) value).doubleValue(), ((Number) lastValue).doubleValue());
+        }
+
+        return !Objects.equals(value, lastValue);
+    }
+
+    private static boolean isOutsideDeadband(Topic topic, double value, double lastValue) {
+
+        double difference = Math.abs(value - lastValue);
+
+        if (topic.getDeadbandAbsolute() != null && difference > topic.getDeadbandAbsolute()) {
+            return true;
+        }
+
+        if (topic.getDeadbandPercent() != null) {
+            if (lastValue == 0D) {
+                return difference > 0D;
+            }
+            return difference / Math.abs(lastValue) * 100D > topic.getDeadbandPercent();
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,157 @@
+package com.homepanel.system.service;
+
+import java.util.Arrays;
+
+/**
+ * Streaming quantile sketch with logarithmic buckets. Every quantile is returned with the given relative accuracy,
+ * independent of the number and the distribution of the values. Negative values are kept in mirrored buckets and
+ * values near zero in one bucket of their own.
+ */
+public class QuantileSketch {
+
+    private final static double MIN_MAGNITUDE = 1e-9;
+    private final static int INITIAL_BUCKETS = 64;
+
+    private final double logGamma;
+    private final double relativeAccuracy;
+    private int[] positiveCounts;
+    private int positiveOffset;
+    private int[] negativeCounts;
+    private int negativeOffset;
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch(double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1D + relativeAccuracy) / (1D - relativeAccuracy));
+        this.positiveCounts = new int[INITIAL_BUCKETS];
+        this.negativeCounts = new int[INITIAL_BUCKETS];
+        this.positiveOffset = Integer.MIN_VALUE;
+        this.negativeOffset = Integer.MIN_VALUE;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void clear() {
+        Arrays.fill(positiveCounts, 0);
+        Arrays.fill(negativeCounts, 0);
+        positiveOffset = Integer.MIN_VALUE;
+        negativeOffset = Integer.MIN_VALUE;
+        zeroCount = 0;
+        count = 0;
+    }
+
+    public void add(double value) {
+
+        if (Double.isNaN(value)) {
+            return;
+        }
+
+        count++;
+
+        if (Math.abs(value) < MIN_MAGNITUDE) {
+            zeroCount++;
+        } else if (value > 0) {
+            positiveCounts = increment(positiveCounts, true, getIndex(value));
+        } else {
+            negativeCounts = increment(negativeCounts, false, getIndex(-value));
+        }
+    }
+
+    /**
+     * removes a value added before, e.g. when it leaves a sliding window
+     */
+    public void remove(double value) {
+
+        if (Double.isNaN(value)) {
+            return;
+        }
+
+        count--;
+
+        if (Math.abs(value) < MIN_MAGNITUDE) {
+            zeroCount--;
+        } else if (value > 0) {
+            positiveCounts[getIndex(value) - positiveOffset]--;
+        } else {
+            negativeCounts[getIndex(-value) - negativeOffset]--;
+        }
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the value at the given quantile or NaN if the sketch is empty
+     */
+    public double getQuantile(double quantile) {
+
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+
+        // negative values are ordered from the largest magnitude to the smallest
+        for (int i = negativeCounts.length - 1; i >= 0; i--) {
+            seen += negativeCounts[i];
+            if (negativeCounts[i] > 0 && seen >= rank) {
+                return -getValue(negativeOffset + i);
+            }
+        }
+
+        seen += zeroCount;
+        if (zeroCount > 0 && seen >= rank) {
+            return 0D;
+        }
+
+        for (int i = 0; i < positiveCounts.length; i++) {
+            seen += positiveCounts[i];
+            if (positiveCounts[i] > 0 && seen >= rank) {
+                return getValue(positiveOffset + i);
+            }
+        }
+
+        return getValue(positiveOffset + positiveCounts.length - 1);
+    }
+
+    private int getIndex(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    /**
+     * @return the value of the bucket with the lowest relative error to all values of the bucket
+     */
+    private double getValue(int index) {
+        return Math.exp(index * logGamma) * (1D - relativeAccuracy);
+    }
+
+    private int[] increment(int[] counts, boolean positive, int index) {
+
+        int offset = positive ? positiveOffset : negativeOffset;
+
+        if (offset == Integer.MIN_VALUE) {
+            offset = index - counts.length / 2;
+        }
+
+        if (index < offset || index >= offset + counts.length) {
+            int newOffset = Math.min(offset, index);
+            int newLength = Math.max(offset + counts.length, index + 1) - newOffset;
+            int[] newCounts = new int[Math.max(newLength, counts.length * 2)];
+            System.arraycopy(counts, 0, newCounts, offset - newOffset, counts.length);
+            counts = newCounts;
+            offset = newOffset;
+        }
+
+        counts[index - offset]++;
+
+        if (positive) {
+            positiveOffset = offset;
+        } else {
+            negativeOffset = offset;
+        }
+
+        return counts;
+    }
+}
@@ -0,0 +1,61 @@
+package com.homepanel.system.service;
+
+import com.homepanel.core.state.Type;
+import com.homepanel.system.config.Config;
+import com.homepanel.system.config.Topic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Metrics of the service itself, published periodically as topics below a common path.
+ */
+public class SelfMetrics {
+
+    private final String path;
+    private final List<Topic> topics;
+    private final List<Supplier<Object>> suppliers;
+
+    public SelfMetrics(String path) {
+        this.path = path;
+        this.topics = new ArrayList<>();
+        this.suppliers = new ArrayList<>();
+    }
+
+    private String getPath() {
+        return path;
+    }
+
+    private List<Topic> getTopics() {
+        return topics;
+    }
+
+    private List<Supplier<Object>> getSuppliers() {
+        return suppliers;
+    }
+
+    /**
+     * adds a metric published at the given path below the path of the metrics
+     */
+    public void add(String name, Type.NAME typeName, Supplier<Object> supplier) {
+
+        Topic topic = new Topic();
+        topic.setPath(getPath() + "/" + name);
+        topic.setType(Config.getType(typeName.name()));
+
+        getTopics().add(topic);
+        getSuppliers().add(supplier);
+    }
+
+    public void publish(BiConsumer<Topic, Object> publisher) {
+
+        for (int i = 0; i < getTopics().size(); i++) {
+            Object value = getSuppliers().get(i).get();
+            if (value != null) {
+                publisher.accept(getTopics().get(i), value);
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.homepanel.system.service;
 import com.homepanel.core.executor.PriorityThreadPoolExecutor;
 import com.homepanel.core.service.PollingService;
 import com.homepanel.core.state.Type;
+import com.homepanel.system.config.Collector;
 import com.homepanel.system.config.Config;
 import com.homepanel.system.config.Topic;
 import com.homepanel.system.system.client.DeviceNotFoundException;
@@ -10,16 +11,81 @@ import com.homepanel.system.system.client.SystemInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Service extends PollingService<Config, Topic> {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(Service.class);
 
+    private final static String DEFAULT_COLLECTOR_ROOT_PATH = "/";
+
+    private final static int DEFAULT_HISTORY_RETENTION_DAYS = 30;
+    private final static int MAX_HISTORY_QUERY_VALUES = 10_000;
+    private final static String HISTORY_RESPONSE_TOPIC_SUFFIX = "/response";
+    private final static SystemConstants.OVERFLOW DEFAULT_PUBLISH_BUFFER_OVERFLOW = SystemConstants.OVERFLOW.DROP_OLDEST;
+    private final static int DEFAULT_PUBLISH_BUFFER_REPLAY_RATE = 50;
+    private final static long PUBLISH_BUFFER_REPLAY_INTERVAL_IN_MILLISECONDS = 100L;
+    private final static int DEFAULT_SELF_INTERVAL_VALUE = 60;
+    private final static TimeUnit DEFAULT_SELF_INTERVAL_UNIT = TimeUnit.SECONDS;
+    private final static int DEFAULT_POLLING_GROUP_CONCURRENCY = 2;
+    private final static long TIMER_WHEEL_TICK_IN_MILLISECONDS = 10L;
+    private final static int TIMER_WHEEL_SLOTS = 512;
+
+    final static int POLLING_EXECUTOR_SERVICE_POOL_SIZE = 3;
+
+    private long startTimeInNanoseconds;
+    private AtomicBoolean published;
     private SystemInfo systemInfo;
+    private HistoryStore historyStore;
+    private Topic historyResponseTopic;
+    private PublishBuffer publishBuffer;
+    private SelfMetrics selfMetrics;
+    private LatencyHistogram publishLatency;
+    private MetricsEndpoint metricsEndpoint;
+    private VirtualThreadPolling virtualThreadPolling;
+    private TimerWheel timerWheel;
+    private ExecutorService timerWheelExecutorService;
+    private Set<Topic> timerWheelTopics;
+    private ScheduledExecutorService maintenanceExecutorService;
+
+    private long getStartTimeInNanoseconds() {
+        return startTimeInNanoseconds;
+    }
+
+    private void setStartTimeInNanoseconds(long startTimeInNanoseconds) {
+        this.startTimeInNanoseconds = startTimeInNanoseconds;
+    }
+
+    private AtomicBoolean getPublished() {
+        return published;
+    }
+
+    private void setPublished(AtomicBoolean published) {
+        this.published = published;
+    }
 
     private SystemInfo getSystemInfo() {
         return systemInfo;
@@ -29,6 +95,94 @@ public class Service extends PollingService<Config, Topic> {
         this.systemInfo = systemInfo;
     }
 
+    private HistoryStore getHistoryStore() {
+        return historyStore;
+    }
+
+    private void setHistoryStore(HistoryStore historyStore) {
+        this.historyStore = historyStore;
+    }
+
+    private Topic getHistoryResponseTopic() {
+        return historyResponseTopic;
+    }
+
+    private void setHistoryResponseTopic(Topic historyResponseTopic) {
+        this.historyResponseTopic = historyResponseTopic;
+    }
+
+    private PublishBuffer getPublishBuffer() {
+        return publishBuffer;
+    }
+
+    private void setPublishBuffer(PublishBuffer publishBuffer) {
+        this.publishBuffer = publishBuffer;
+    }
+
+    private SelfMetrics getSelfMetrics() {
+        return selfMetrics;
+    }
+
+    private void setSelfMetrics(SelfMetrics selfMetrics) {
+        this.selfMetrics = selfMetrics;
+    }
+
+    private LatencyHistogram getPublishLatency() {
+        return publishLatency;
+    }
+
+    private void setPublishLatency(LatencyHistogram publishLatency) {
+        this.publishLatency = publishLatency;
+    }
+
+    private MetricsEndpoint getMetricsEndpoint() {
+        return metricsEndpoint;
+    }
+
+    private void setMetricsEndpoint(MetricsEndpoint metricsEndpoint) {
+        this.metricsEndpoint = metricsEndpoint;
+    }
+
+    private VirtualThreadPolling getVirtualThreadPolling() {
+        return virtualThreadPolling;
+    }
+
+    private void setVirtualThreadPolling(VirtualThreadPolling virtualThreadPolling) {
+        this.virtualThreadPolling = virtualThreadPolling;
+    }
+
+    private TimerWheel getTimerWheel() {
+        return timerWheel;
+    }
+
+    private void setTimerWheel(TimerWheel timerWheel) {
+        this.timerWheel = timerWheel;
+    }
+
+    private ExecutorService getTimerWheelExecutorService() {
+        return timerWheelExecutorService;
+    }
+
+    private void setTimerWheelExecutorService(ExecutorService timerWheelExecutorService) {
+        this.timerWheelExecutorService = timerWheelExecutorService;
+    }
+
+    private Set<Topic> getTimerWheelTopics() {
+        return timerWheelTopics;
+    }
+
+    private void setTimerWheelTopics(Set<Topic> timerWheelTopics) {
+        this.timerWheelTopics = timerWheelTopics;
+    }
+
+    private ScheduledExecutorService getMaintenanceExecutorService() {
+        return maintenanceExecutorService;
+    }
+
+    private void setMaintenanceExecutorService(ScheduledExecutorService maintenanceExecutorService) {
+        this.maintenanceExecutorService = maintenanceExecutorService;
+    }
+
     @Override
     public Config getConfig() {
         return (Config) super.getConfig();
@@ -37,389 +191,401 @@ public class Service extends PollingService<Config, Topic> {
     @Override
     protected void startService() throws Exception {
 
-        setSystemInfo(new SystemInfo());
+        setStartTimeInNanoseconds(System.nanoTime());
+        setPublished(new AtomicBoolean());
+
+        Map<SystemConstants.GROUP, SystemConstants.COLLECTOR> collectors = new EnumMap<>(SystemConstants.GROUP.class);
+
+        if (getConfig().getCollectors() != null) {
+            for (Collector collector : getConfig().getCollectors()) {
+                collectors.put(collector.getGroup(), collector.getType());
+            }
+        }
+
+        Set<SystemConstants.GROUP> groups = EnumSet.noneOf(SystemConstants.GROUP.class);
 
         for (Topic topic : getConfig().getTopics()) {
+            if (topic.getGroup() != null) {
+                groups.add(topic.getGroup());
+            }
+        }
 
-            switch (topic.getGroup()) {
-
-                case MEMORY:
-                    switch (topic.getChannel()) {
-                        case AVAILABLE:
-                        case TOTAL:
-                        case MEMORY_USED:
-                            topic.setType(Config.getType(Type.NAME.LONG.name()));
-                            break;
-                        case AVAILABLE_PERCENT:
-                        case USED_PERCENT:
-                            topic.setType(Config.getType(Type.NAME.DOUBLE.name()));
-                            break;
-                    }
-                case SWAP:
-                    switch (topic.getChannel()) {
-                        case AVAILABLE:
-                        case TOTAL:
-                        case MEMORY_USED:
-                            topic.setType(Config.getType(Type.NAME.LONG.name()));
-                            break;
-                        case AVAILABLE_PERCENT:
-                        case USED_PERCENT:
-                            topic.setType(Config.getType(Type.NAME.DOUBLE.name()));
-                            break;
-                    }
-                    break;
-                case STORAGE:
-                    if (topic.getIndex() == null) {
-                        topic.setIndex(0);
-                    }
-                    switch (topic.getChannel()) {
-                        case AVAILABLE:
-                        case TOTAL:
-                        case MEMORY_USED:
-                            topic.setType(Config.getType(Type.NAME.LONG.name()));
-                            break;
-                        case AVAILABLE_PERCENT:
-                        case USED_PERCENT:
-                            topic.setType(Config.getType(Type.NAME.DOUBLE.name()));
-                            break;
-                        case NAME:
-                        case DESCRIPTION:
-                        case TYPE:
-                            topic.setType(Config.getType(Type.NAME.STRING.name()));
-                            break;
-                    }
-                    break;
-                case DRIVE:
-                    if (topic.getIndex() == null) {
-                        topic.setIndex(0);
-                    }
-                    switch (topic.getChannel()) {
-                        case NAME:
-                        case MODEL:
-                        case SERIAL_NUMBER:
-                            topic.setType(Config.getType(Type.NAME.STRING.name()));
-                            break;
-                    }
-                    break;
-                case DISPLAY:
-                    if (topic.getIndex() == null) {
-                        topic.setIndex(0);
-                    }
-                    switch (topic.getChannel()) {
-                        case INFORMATION:
-                            topic.setType(Config.getType(Type.NAME.STRING.name()));
-                            break;
-                    }
-                    break;
-                case BATTERY:
-                    if (topic.getIndex() == null) {
-                        topic.setIndex(0);
-                    }
-                    switch (topic.getChannel()) {
-                        case NAME:
-                            topic.setType(Config.getType(Type.NAME.STRING.name()));
-                            break;
-                        case REMAINING_CAPACITY:
-                        case REMAINING_TIME:
-                            topic.setType(Config.getType(Type.NAME.DOUBLE.name()));
-                            break;
-                    }
-                    break;
-                case CPU:
-                    switch (topic.getChannel()) {
-                        case NAME:
-                        case DESCRIPTION:
-                            topic.setType(Config.getType(Type.NAME.STRING.name()));
-                            break;
-                        case LOAD:
-                            topic.setType(Config.getType(Type.NAME.DOUBLE.name()));
-                            break;
-                        case LOAD1:
-                        case LOAD5:
-                        case LOAD15:
-                        case UPTIME:
-                            topic.setType(Config.getType(Type.NAME.DOUBLE.name()));
-                            break;
-                        case THREADS:
-                            topic.setType(Config.getType(Type.NAME.INTEGER.name()));
-                            break;
-                    }
-                    break;
-                case SENSORS:
-                    switch (topic.getChannel()) {
-                        case CPU_TEMPERATURE:
-                        case CPU_VOLTAGE:
-                            topic.setType(Config.getType(Type.NAME.DOUBLE.name()));
-                            break;
-                        case FAN_SPEED:
-                            if (topic.getIndex() != null) {
-                                topic.setType(Config.getType(Type.NAME.INTEGER.name()));
-                            } else {
-                                LOGGER.error("attribute \"index\" is required for topic with group \"{}\" and channel \"{}\"", topic.getGroup(), topic.getChannel());
-                            }
-                            break;
-                    }
-                    break;
-                case NETWORK:
-                    if (topic.getIndex() == null) {
-                        topic.setIndex(0);
-                    }
-                    switch (topic.getChannel()) {
-                        case IP_ADDRESS:
-                        case MAC_ADDRESS:
-                        case NETWORK_DISPLAY_NAME:
-                        case NETWORK_NAME:
-                            topic.setType(Config.getType(Type.NAME.STRING.name()));
-                            break;
-                        case PACKETS_SENT:
-                        case PACKETS_RECEIVED:
-                        case DATA_SENT:
-                        case DATA_RECEIVED:
-                            topic.setType(Config.getType(Type.NAME.LONG.name()));
-                            break;
-                    }
-                    break;
-                case PROCESS:
-                    switch (topic.getChannel()) {
-                        case NAME:
-                        case PATH:
-                            topic.setType(Config.getType(Type.NAME.STRING.name()));
-                            break;
-                        case LOAD:
-                            topic.setType(Config.getType(Type.NAME.DOUBLE.name()));
-                            break;
-                        case MEMORY_USED:
-                            topic.setType(Config.getType(Type.NAME.LONG.name()));
-                            break;
-                        case THREADS:
-                            topic.setType(Config.getType(Type.NAME.INTEGER.name()));
-                            break;
-                    }
-                    break;
+        setSystemInfo(new SystemInfo(Paths.get(getConfig().getCollectorRootPath() != null ? getConfig().getCollectorRootPath() : DEFAULT_COLLECTOR_ROOT_PATH), collectors, groups));
+
+        List<String> errors = new ArrayList<>();
+
+        for (Topic topic : getConfig().getTopics()) {
+
+            String error = TopicReaders.compile(topic, getSystemInfo());
+
+            if (error != null) {
+                LOGGER.error(error);
+                errors.add(error);
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.format("%d invalid topic(s) configured: %s", errors.size(), String.join("; ", errors)));
+        }
+
+        for (SystemConstants.GROUP group : getTopicsByGroup().keySet()) {
+            getSystemInfo().warmUp(group);
+        }
+
+        if (getConfig().getPolling() == SystemConstants.POLLING.VIRTUAL) {
+
+            int groupConcurrency = getConfig().getPollingGroupConcurrency() != null ? getConfig().getPollingGroupConcurrency() : DEFAULT_POLLING_GROUP_CONCURRENCY;
+
+            if (groupConcurrency <= 0) {
+                throw new IllegalArgumentException("element \"pollingGroupConcurrency\" must be positive");
+            }
+
+            setVirtualThreadPolling(new VirtualThreadPolling(groupConcurrency));
+        }
+
+        if (getConfig().getHistoryDirectory() != null) {
+
+            setHistoryStore(new HistoryStore(Paths.get(getConfig().getHistoryDirectory()), getConfig().getHistoryRetentionDays() != null ? getConfig().getHistoryRetentionDays() : DEFAULT_HISTORY_RETENTION_DAYS));
+
+            if (getConfig().getHistoryRequestTopic() != null) {
+                Topic historyResponseTopic = new Topic();
+                historyResponseTopic.setPath(getConfig().getHistoryRequestTopic() + HISTORY_RESPONSE_TOPIC_SUFFIX);
+                historyResponseTopic.setType(Config.getType(Type.NAME.STRING.name()));
+                setHistoryResponseTopic(historyResponseTopic);
+            }
+        }
+
+        if (getConfig().getSelfTopic() != null) {
+            setSelfMetrics(new SelfMetrics(getConfig().getSelfTopic()));
+            addInstrumentation();
+        }
+
+        if (getConfig().getPublishBufferSize() != null || getSelfMetrics() != null) {
+            setMaintenanceExecutorService(Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "maintenance");
+                thread.setDaemon(true);
+                return thread;
+            }));
+        }
+
+        if (getConfig().getPublishBufferSize() != null) {
+
+            if (getConfig().getPublishBufferSize() <= 0 || (getConfig().getPublishBufferReplayRate() != null && getConfig().getPublishBufferReplayRate() <= 0)) {
+                throw new IllegalArgumentException("elements \"publishBufferSize\" and \"publishBufferReplayRate\" must be positive");
+            }
+
+            if (getConfig().getPublishBufferSize() < PublishBuffer.MIN_CAPACITY_IN_BYTES) {
+                throw new IllegalArgumentException("element \"publishBufferSize\" must be at least " + PublishBuffer.MIN_CAPACITY_IN_BYTES + " bytes");
+            }
+
+            setPublishBuffer(new PublishBuffer(getConfig().getPublishBufferSize(), getConfig().getPublishBufferOverflow() != null ? getConfig().getPublishBufferOverflow() : DEFAULT_PUBLISH_BUFFER_OVERFLOW));
+
+            int replayRate = getConfig().getPublishBufferReplayRate() != null ? getConfig().getPublishBufferReplayRate() : DEFAULT_PUBLISH_BUFFER_REPLAY_RATE;
+            int replayCount = (int) Math.max(1, replayRate * PUBLISH_BUFFER_REPLAY_INTERVAL_IN_MILLISECONDS / TimeUnit.SECONDS.toMillis(1));
+            getMaintenanceExecutorService().scheduleWithFixedDelay(() -> replayPublishBuffer(replayCount), PUBLISH_BUFFER_REPLAY_INTERVAL_IN_MILLISECONDS, PUBLISH_BUFFER_REPLAY_INTERVAL_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+
+            if (getSelfMetrics() != null) {
+                getSelfMetrics().add("buffer/depth", Type.NAME.INTEGER, getPublishBuffer()::getCount);
+                getSelfMetrics().add("buffer/bytes", Type.NAME.INTEGER, getPublishBuffer()::getSize);
+                getSelfMetrics().add("buffer/dropped", Type.NAME.LONG, getPublishBuffer()::getDroppedValues);
+            }
+        }
+
+        if (getSelfMetrics() != null) {
+            long selfIntervalInMilliseconds = (getConfig().getSelfIntervalUnit() != null ? getConfig().getSelfIntervalUnit() : DEFAULT_SELF_INTERVAL_UNIT).toMillis(getConfig().getSelfIntervalValue() != null ? getConfig().getSelfIntervalValue() : DEFAULT_SELF_INTERVAL_VALUE);
+            getMaintenanceExecutorService().scheduleAtFixedRate(() -> getSelfMetrics().publish(this::publishOrBuffer), selfIntervalInMilliseconds, selfIntervalInMilliseconds, TimeUnit.MILLISECONDS);
+        }
+
+        if (getConfig().getScheduler() == SystemConstants.SCHEDULER.WHEEL) {
+            startTimerWheel();
+        }
+
+        if (getConfig().getMetricsPort() != null) {
+
+            List<Topic> metricsTopics = new ArrayList<>();
+
+            for (Topic topic : getConfig().getTopics()) {
+                metricsTopics.add(topic);
+                if (topic.getStatisticTopics() != null) {
+                    metricsTopics.addAll(topic.getStatisticTopics());
+                }
+            }
+
+            // the endpoint is not authenticated, so it is only reachable from other hosts if an address is configured
+            InetSocketAddress address = getConfig().getMetricsAddress() != null ? new InetSocketAddress(getConfig().getMetricsAddress(), getConfig().getMetricsPort()) : new InetSocketAddress(InetAddress.getLoopbackAddress(), getConfig().getMetricsPort());
+            setMetricsEndpoint(new MetricsEndpoint(address, metricsTopics));
+            getMetricsEndpoint().start();
+        }
+    }
+
+    /**
+     * polls all topics with the same refresh interval as one job at multiples of the interval, topics without refresh
+     * interval are left to the scheduler of the core service
+     */
+    private void startTimerWheel() {
+
+        Map<Long, List<Topic>> buckets = new TreeMap<>();
+        Set<Topic> timerWheelTopics = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (Topic topic : getConfig().getTopics()) {
+            if (topic.getRefreshIntervalValue() != null && topic.getRefreshIntervalUnit() != null) {
+                buckets.computeIfAbsent(topic.getRefreshIntervalUnit().toMillis(topic.getRefreshIntervalValue()), refreshInterval -> new ArrayList<>()).add(topic);
+                timerWheelTopics.add(topic);
+            }
+        }
+
+        setTimerWheelTopics(timerWheelTopics);
+        if (getVirtualThreadPolling() != null) {
+            // the jobs only wait for their polls, so waiting jobs of slow buckets do not hold back other buckets
+            setTimerWheelExecutorService(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("timer-wheel-poll-", 0).factory()));
+        } else {
+            setTimerWheelExecutorService(Executors.newFixedThreadPool(POLLING_EXECUTOR_SERVICE_POOL_SIZE, runnable -> {
+                Thread thread = new Thread(runnable, "timer-wheel-poll");
+                thread.setDaemon(true);
+                return thread;
+            }));
+        }
+        setTimerWheel(new TimerWheel(TIMER_WHEEL_TICK_IN_MILLISECONDS, TIMER_WHEEL_SLOTS, getTimerWheelExecutorService()));
+
+        for (Map.Entry<Long, List<Topic>> bucket : buckets.entrySet()) {
+
+            long refreshIntervalInMilliseconds = bucket.getKey();
+            // topics of the same group follow each other, so the first read of a group samples it for all of them
+            List<Topic> topics = new ArrayList<>(bucket.getValue());
+            topics.sort(Comparator.comparing(Topic::getGroup));
+
+            getTimerWheel().schedule(String.format("%d topic(s) every %d ms", topics.size(), refreshIntervalInMilliseconds), refreshIntervalInMilliseconds, timeInMilliseconds -> dispatchPolls(topics, timeInMilliseconds, refreshIntervalInMilliseconds));
+        }
+
+        if (getSelfMetrics() != null) {
+            getSelfMetrics().add("scheduler/skipped", Type.NAME.LONG, getTimerWheel()::getSkippedRuns);
+        }
+
+        getTimerWheel().start();
+
+        LOGGER.info("scheduling {} topic(s) in {} bucket(s) on the timer wheel", timerWheelTopics.size(), buckets.size());
+    }
+
+    /**
+     * attaches the metrics of their group and channel to all topics and adds latencies, error counters and staleness
+     * to the self metrics
+     */
+    private void addInstrumentation() {
+
+        Map<SystemConstants.GROUP, Map<SystemConstants.CHANNEL, TopicMetrics>> metrics = new EnumMap<>(SystemConstants.GROUP.class);
+
+        for (Topic topic : getConfig().getTopics()) {
+
+            TopicMetrics topicMetrics = metrics.computeIfAbsent(topic.getGroup(), group -> new EnumMap<>(SystemConstants.CHANNEL.class)).get(topic.getChannel());
+
+            if (topicMetrics == null) {
+
+                topicMetrics = new TopicMetrics();
+                metrics.get(topic.getGroup()).put(topic.getChannel(), topicMetrics);
+
+                String name = (topic.getGroup() + "/" + topic.getChannel()).toLowerCase(Locale.ROOT);
+                LatencyHistogram readLatency = topicMetrics.getReadLatency();
+                getSelfMetrics().add(name + "/latency", Type.NAME.STRING, () -> readLatency.drainToJson(new StringBuilder()).toString());
+                getSelfMetrics().add(name + "/errors", Type.NAME.LONG, topicMetrics.getErrors()::sum);
+                getSelfMetrics().add(name + "/devicesNotFound", Type.NAME.LONG, topicMetrics.getDevicesNotFound()::sum);
             }
 
-            if (topic.getType() == null) {
-                LOGGER.error("topic with group \"{}\" and channel \"{}\" not found", topic.getGroup(), topic.getChannel());
+            topic.setMetrics(topicMetrics);
+        }
+
+        LatencyHistogram publishLatency = new LatencyHistogram();
+        setPublishLatency(publishLatency);
+        getSelfMetrics().add("publish/latency", Type.NAME.STRING, () -> publishLatency.drainToJson(new StringBuilder()).toString());
+        getSelfMetrics().add("staleness", Type.NAME.STRING, this::getStaleness);
+    }
+
+    /**
+     * @return JSON object of the milliseconds since the last publish of every topic
+     */
+    private String getStaleness() {
+
+        LocalDateTime now = LocalDateTime.now();
+        StringBuilder builder = new StringBuilder().append('{');
+
+        for (Topic topic : getConfig().getTopics()) {
+            if (builder.length() > 1) {
+                builder.append(',');
             }
+            LocalDateTime lastDateTime = topic.getLastDateTime();
+            Json.appendName(builder, topic.getPath());
+            Json.appendValue(builder, lastDateTime != null ? (Object) Duration.between(lastDateTime, now).toMillis() : null);
         }
+
+        return builder.append('}').toString();
     }
 
     @Override
     protected void shutdownService() throws Exception {
+
+        if (getTimerWheel() != null) {
+            getTimerWheel().stop();
+            getTimerWheelExecutorService().shutdownNow();
+            setTimerWheel(null);
+            setTimerWheelExecutorService(null);
+            setTimerWheelTopics(null);
+        }
+
+        if (getVirtualThreadPolling() != null) {
+            getVirtualThreadPolling().shutdown();
+            setVirtualThreadPolling(null);
+        }
+
+        if (getMetricsEndpoint() != null) {
+            getMetricsEndpoint().stop();
+            setMetricsEndpoint(null);
+        }
+
+        if (getMaintenanceExecutorService() != null) {
+            getMaintenanceExecutorService().shutdownNow();
+            setMaintenanceExecutorService(null);
+        }
+
+        if (getHistoryStore() != null) {
+            getHistoryStore().close();
+            setHistoryStore(null);
+        }
+
+        if (getSystemInfo() != null) {
+            getSystemInfo().close();
+        }
     }
 
     private void readData(Topic topic, Long jobRunningTimeInMilliseconds, Long refreshIntervalInMilliseconds) {
 
-        Object value = null;
+        AdaptivePolling adaptivePolling = topic.getAdaptivePolling();
+
+        if (adaptivePolling != null && !adaptivePolling.isReadRequired(jobRunningTimeInMilliseconds)) {
+            return;
+        }
+
+        TopicMetrics metrics = topic.getMetrics();
 
         try {
-            if (topic.getType() != null) {
-                switch (topic.getGroup()) {
-                    case MEMORY:
-                        switch (topic.getChannel()) {
-                            case AVAILABLE:
-                                value = getSystemInfo().getMemoryAvailable();
-                                break;
-                            case TOTAL:
-                                value = getSystemInfo().getMemoryTotal();
-                                break;
-                            case MEMORY_USED:
-                                value = getSystemInfo().getMemoryUsed();
-                                break;
-                            case AVAILABLE_PERCENT:
-                                value = getSystemInfo().getMemoryAvailablePercent();
-                                break;
-                            case USED_PERCENT:
-                                value = getSystemInfo().getMemoryUsedPercent();
-                                break;
-                        }
-                    case SWAP:
-                        switch (topic.getChannel()) {
-                            case AVAILABLE:
-                                value = getSystemInfo().getSwapAvailable();
-                                break;
-                            case TOTAL:
-                                value = getSystemInfo().getSwapTotal();
-                                break;
-                            case MEMORY_USED:
-                                value = getSystemInfo().getSwapUsed();
-                                break;
-                            case AVAILABLE_PERCENT:
-                                value = getSystemInfo().getSwapAvailablePercent();
-                                break;
-                            case USED_PERCENT:
-                                value = getSystemInfo().getSwapUsedPercent();
-                                break;
-                        }
-                        break;
-                    case STORAGE:
-                        if (topic.getIndex() != null) {
-                            switch (topic.getChannel()) {
-                                case AVAILABLE:
-                                    value = getSystemInfo().getStorageAvailable(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case TOTAL:
-                                    value = getSystemInfo().getStorageTotal(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case MEMORY_USED:
-                                    value = getSystemInfo().getStorageUsed(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case AVAILABLE_PERCENT:
-                                    value = getSystemInfo().getStorageAvailablePercent(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case USED_PERCENT:
-                                    value = getSystemInfo().getStorageUsedPercent(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case NAME:
-                                    value = getSystemInfo().getStorageName(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case DESCRIPTION:
-                                    value = getSystemInfo().getStorageDescription(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case TYPE:
-                                    value = getSystemInfo().getStorageType(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                            }
-                        }
-                        break;
-                    case DRIVE:
-                        if (topic.getIndex() != null) {
-                            switch (topic.getChannel()) {
-                                case NAME:
-                                    value = getSystemInfo().getDriveName(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case MODEL:
-                                    value = getSystemInfo().getDriveModel(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case SERIAL_NUMBER:
-                                    value = getSystemInfo().getDriveSerialNumber(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                            }
-                        }
-                        break;
-                    case DISPLAY:
-                        if (topic.getIndex() != null) {
-                            switch (topic.getChannel()) {
-                                case INFORMATION:
-                                    value = getSystemInfo().getDisplayInformation(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                            }
-                        }
-                        break;
-                    case BATTERY:
-                        if (topic.getIndex() != null) {
-                            switch (topic.getChannel()) {
-                                case NAME:
-                                    value = getSystemInfo().getBatteryName(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case REMAINING_CAPACITY:
-                                    value = getSystemInfo().getBatteryRemainingCapacity(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case REMAINING_TIME:
-                                    value = getSystemInfo().getBatteryRemainingTime(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                            }
-                        }
-                        break;
-                    case CPU:
-                        switch (topic.getChannel()) {
-                            case NAME:
-                                value = getSystemInfo().getCpuName();
-                                break;
-                            case DESCRIPTION:
-                                value = getSystemInfo().getCpuDescription();
-                                break;
-                            case LOAD:
-                                value = getSystemInfo().getCpuLoad();
-                                break;
-                            case LOAD1:
-                                value = getSystemInfo().getCpuLoad1();
-                                break;
-                            case LOAD5:
-                                value = getSystemInfo().getCpuLoad5();
-                                break;
-                            case LOAD15:
-                                value = getSystemInfo().getCpuLoad15();
-                                break;
-                            case UPTIME:
-                                value = getSystemInfo().getCpuUptime();
-                                break;
-                            case THREADS:
-                                value = getSystemInfo().getCpuThreads();
-                                break;
-                        }
-                        break;
-                    case SENSORS:
-                        switch (topic.getChannel()) {
-                            case CPU_TEMPERATURE:
-                                value = getSystemInfo().getSensorsCpuTemperature();
-                                break;
-                            case CPU_VOLTAGE:
-                                value = getSystemInfo().getSensorsCpuVoltage();
-                                break;
-                            case FAN_SPEED:
-                                if (topic.getIndex() != null) {
-                                    value = getSystemInfo().getSensorsFanSpeed(topic.getIndex());
-                                }
-                                break;
-                        }
-                        break;
-                    case NETWORK:
-                        if (topic.getIndex() != null) {
-                            switch (topic.getChannel()) {
-                                case IP_ADDRESS:
-                                    value = getSystemInfo().getNetworkIpAddress(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case MAC_ADDRESS:
-                                    value = getSystemInfo().getNetworkMacAddress(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case NETWORK_DISPLAY_NAME:
-                                    value = getSystemInfo().getNetworkDisplayName(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case NETWORK_NAME:
-                                    value = getSystemInfo().getNetworkName(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case PACKETS_SENT:
-                                    value = getSystemInfo().getNetworkPacketsSent(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case PACKETS_RECEIVED:
-                                    value = getSystemInfo().getNetworkPacketsReceived(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case DATA_SENT:
-                                    value = getSystemInfo().getNetworkDataSent(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                                case DATA_RECEIVED:
-                                    value = getSystemInfo().getNetworkDataReceived(topic.getIndex(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
-                                    break;
-                            }
-                        }
-                        break;
-                    case PROCESS:
-                        Integer processId = topic.getProcessId();
-                        switch (topic.getChannel()) {
-                            case LOAD:
-                                value = getSystemInfo().getProcessCpuUsage(processId);
-                                break;
-                            case MEMORY_USED:
-                                value = getSystemInfo().getProcessMemoryUsage(processId);
-                                break;
-                            case NAME:
-                                value = getSystemInfo().getProcessName(processId);
-                                break;
-                            case THREADS:
-                                value = getSystemInfo().getProcessThreads(processId);
-                                break;
-                            case PATH:
-                                value = getSystemInfo().getProcessPath(processId);
-                                break;
-                        }
-                        break;
-                }
+            long startTime = System.nanoTime();
+            Object value = topic.getReader().read(jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+            LocalDateTime dateTime = LocalDateTime.now();
+
+            if (metrics != null) {
+                metrics.getReadLatency().record(System.nanoTime() - startTime);
+            }
 
-                publishData(topic, value);
+            if (adaptivePolling != null) {
+                adaptivePolling.update(value, jobRunningTimeInMilliseconds);
+            }
+
+            publish(topic, value, dateTime);
+
+            if (getHistoryStore() != null && value instanceof Number) {
+                getHistoryStore().append(topic.getPath(), jobRunningTimeInMilliseconds, ((Number) value).doubleValue());
+            }
+
+            if (topic.getHistory() != null && value instanceof Number) {
+
+                topic.getHistory().add(jobRunningTimeInMilliseconds, ((Number) value).doubleValue());
+
+                for (Topic statisticTopic : topic.getStatisticTopics()) {
+                    Object statistic = statisticTopic.getReader().read(jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+                    if (statistic != null) {
+                        publish(statisticTopic, statistic, dateTime);
+                    }
+                }
             }
         } catch (DeviceNotFoundException e) {
+            if (metrics != null) {
+                metrics.getDevicesNotFound().increment();
+            }
             LOGGER.error("device not found for topic with group \"{}\", channel \"{}\" and path \"{}\"", topic.getGroup(), topic.getChannel(), topic.getPath());
+        } catch (RuntimeException e) {
+            if (metrics != null) {
+                metrics.getErrors().increment();
+            }
+            throw e;
+        }
+    }
+
+    private void publish(Topic topic, Object value, LocalDateTime dateTime) {
+
+        if (PublishPolicy.isPublishRequired(topic, value, dateTime)) {
+
+            publishOrBuffer(topic, value);
+            topic.setLastValue(value);
+            topic.setLastDateTime(dateTime);
+
+            if (!getPublished().get() && getPublished().compareAndSet(false, true)) {
+                LOGGER.info("published first value {} ms after start", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - getStartTimeInNanoseconds()));
+            }
+        }
+    }
+
+    /**
+     * publishes a value, values whose publishing fails are buffered for a later replay if a buffer is configured
+     */
+    private void publishOrBuffer(Topic topic, Object value) {
+
+        if (getPublishBuffer() == null) {
+            publishTimed(topic, value);
+            return;
+        }
+
+        // live values are not held back by the replay, they supersede the buffered values of their topic instead, so no
+        // topic goes back to an older value
+        try {
+            synchronized (topic) {
+                publishTimed(topic, value);
+                getPublishBuffer().onPublished(topic);
+            }
+        } catch (Exception e) {
+            LOGGER.debug("buffering value of topic \"{}\" after failed publish", topic.getPath(), e);
+            getPublishBuffer().add(topic, value);
+        }
+    }
+
+    private void publishTimed(Topic topic, Object value) {
+
+        if (getPublishLatency() == null) {
+            publishData(topic, value);
+            return;
+        }
+
+        long startTime = System.nanoTime();
+
+        try {
+            publishData(topic, value);
+        } finally {
+            getPublishLatency().record(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * publishes up to the given number of buffered values in the order they were buffered, stops at the first failure
+     */
+    private void replayPublishBuffer(int count) {
+
+        for (int i = 0; i < count; i++) {
+
+            PublishBuffer.Entry entry = getPublishBuffer().peek();
+
+            if (entry == null) {
+                return;
+            }
+
+            try {
+                synchronized (entry.getTopic()) {
+                    if (!getPublishBuffer().isSuperseded(entry)) {
+                        publishData(entry.getTopic(), entry.getValue());
+                    }
+                }
+            } catch (Exception e) {
+                LOGGER.debug("replay of buffered values failed, retrying later", e);
+                return;
+            }
+
+            getPublishBuffer().remove(entry);
         }
     }
 
@@ -429,24 +595,63 @@ public class Service extends PollingService<Config, Topic> {
         for (Topic topic : getConfig().getTopics()) {
             topic.setLastValue(null);
             topic.setLastDateTime(null);
+            topic.setAdaptivePolling(AdaptivePolling.create(topic));
+            if (topic.getStatisticTopics() != null) {
+                for (Topic statisticTopic : topic.getStatisticTopics()) {
+                    statisticTopic.setLastValue(null);
+                    statisticTopic.setLastDateTime(null);
+                }
+            }
         }
         
         long jobRunningTimeInMilliseconds = ZonedDateTime.now().toInstant().toEpochMilli();
         long refreshIntervalInMilliseconds = TimeUnit.HOURS.toMillis(1);
 
+        // every group publishes its first values as soon as it is read, independent of slower groups
+        try (ExecutorService warmUpExecutorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map.Entry<SystemConstants.GROUP, List<Topic>> topics : getTopicsByGroup().entrySet()) {
+                warmUpExecutorService.execute(() -> {
+
+                    long startTime = System.nanoTime();
+
+                    for (Topic topic : topics.getValue()) {
+                        pollTopic(topic, jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+                    }
+
+                    LOGGER.info("read {} topic(s) of group \"{}\" in {} ms", topics.getValue().size(), topics.getKey(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+                });
+            }
+        }
+
+        LOGGER.info("read all topics {} ms after start", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - getStartTimeInNanoseconds()));
+    }
+
+    private Map<SystemConstants.GROUP, List<Topic>> getTopicsByGroup() {
+
+        Map<SystemConstants.GROUP, List<Topic>> topicsByGroup = new EnumMap<>(SystemConstants.GROUP.class);
+
         for (Topic topic : getConfig().getTopics()) {
-            readData(topic, jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+            topicsByGroup.computeIfAbsent(topic.getGroup(), group -> new ArrayList<>()).add(topic);
         }
+
+        return topicsByGroup;
     }
 
     @Override
     protected List<String> getMqttTopics() {
-        return new ArrayList<>();
+
+        List<String> mqttTopics = new ArrayList<>();
+
+        if (getHistoryResponseTopic() != null) {
+            mqttTopics.add(getConfig().getHistoryRequestTopic());
+        }
+
+        return mqttTopics;
     }
 
     @Override
     protected Integer getPollingExecutorServicePoolSize() {
-        return 3;
+        return POLLING_EXECUTOR_SERVICE_POOL_SIZE;
     }
 
     @Override
@@ -456,6 +661,54 @@ public class Service extends PollingService<Config, Topic> {
 
     @Override
     public void pollData(Topic topic, Long jobRunningTimeInMilliseconds, Long refreshIntervalInMilliseconds) {
+
+        Set<Topic> timerWheelTopics = getTimerWheelTopics();
+
+        if (timerWheelTopics == null || !timerWheelTopics.contains(topic)) {
+            dispatchPoll(topic, jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+        }
+    }
+
+    /**
+     * polls the given topics and returns once all of them were polled, so the timer wheel skips the next run of a
+     * bucket whose polls are still running on virtual threads
+     */
+    private void dispatchPolls(List<Topic> topics, long jobRunningTimeInMilliseconds, long refreshIntervalInMilliseconds) {
+
+        if (getVirtualThreadPolling() == null) {
+            for (Topic topic : topics) {
+                pollTopic(topic, jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+            }
+            return;
+        }
+
+        List<Future<?>> polls = new ArrayList<>(topics.size());
+
+        for (Topic topic : topics) {
+            polls.add(getVirtualThreadPolling().submit(topic.getGroup(), refreshIntervalInMilliseconds, () -> pollTopic(topic, jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds)));
+        }
+
+        try {
+            for (Future<?> poll : polls) {
+                poll.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.error("error polling topics", e.getCause());
+        }
+    }
+
+    private void dispatchPoll(Topic topic, long jobRunningTimeInMilliseconds, long refreshIntervalInMilliseconds) {
+
+        if (getVirtualThreadPolling() != null) {
+            getVirtualThreadPolling().submit(topic.getGroup(), refreshIntervalInMilliseconds, () -> pollTopic(topic, jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds));
+        } else {
+            pollTopic(topic, jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+        }
+    }
+
+    private void pollTopic(Topic topic, Long jobRunningTimeInMilliseconds, Long refreshIntervalInMilliseconds) {
         try {
             readData(topic, jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
         } catch (Exception e) {
@@ -465,7 +718,59 @@ public class Service extends PollingService<Config, Topic> {
 
     @Override
     protected void onData(Topic topic, Object value, PriorityThreadPoolExecutor.PRIORITY priority) {
-        // unused
+
+        if (getHistoryResponseTopic() != null && getConfig().getHistoryRequestTopic().equals(topic.getPath()) && value != null) {
+            try {
+                queryHistory(value.toString());
+            } catch (IllegalArgumentException e) {
+                LOGGER.error("error answering history request \"{}\"", value, e);
+            }
+        }
+    }
+
+    /**
+     * answers a request of the form "path fromTimeInMilliseconds toTimeInMilliseconds [limit]" with a json object
+     * holding the stored values as pairs of time and value, the answer is published once the query finished
+     */
+    private void queryHistory(String request) {
+
+        String[] arguments = request.trim().split("\\s+");
+
+        if (arguments.length < 3 || arguments.length > 4) {
+            throw new IllegalArgumentException("history request must consist of path, from time, to time and optional limit");
+        }
+
+        long fromTimeInMilliseconds = Long.parseLong(arguments[1]);
+        long toTimeInMilliseconds = Long.parseLong(arguments[2]);
+        int limit = arguments.length == 4 ? Math.min(Integer.parseInt(arguments[3]), MAX_HISTORY_QUERY_VALUES) : MAX_HISTORY_QUERY_VALUES;
+
+        getHistoryStore().query(arguments[0], fromTimeInMilliseconds, toTimeInMilliseconds, limit).whenComplete((range, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("error answering history request \"{}\"", request, throwable);
+            } else {
+                publishData(getHistoryResponseTopic(), toJson(arguments[0], fromTimeInMilliseconds, toTimeInMilliseconds, range));
+            }
+        });
+    }
+
+    private static String toJson(String path, long fromTimeInMilliseconds, long toTimeInMilliseconds, HistoryStore.Range range) {
+
+        StringBuilder builder = new StringBuilder(64 + range.getSize() * 32).append('{');
+        Json.appendName(builder, "path");
+        Json.appendString(builder, path).append(',');
+        Json.appendName(builder, "from").append(fromTimeInMilliseconds).append(',');
+        Json.appendName(builder, "to").append(toTimeInMilliseconds).append(',');
+        Json.appendName(builder, "values").append('[');
+
+        for (int i = 0; i < range.getSize(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append('[').append(range.getTime(i)).append(',');
+            Json.appendValue(builder, range.getValue(i)).append(']');
+        }
+
+        return builder.append("]}").toString();
     }
 
     @Override
@@ -0,0 +1,53 @@
+package com.homepanel.system.service;
+
+import com.homepanel.system.system.client.DeviceNotFoundException;
+
+/**
+ * Smooths the numeric values of a reader with an exponentially weighted moving average. The weight of a new value
+ * depends on the time passed since the previous one, so irregular polling does not change the time constant.
+ */
+public class SmoothingReader implements TopicReader {
+
+    private final TopicReader reader;
+    private final long timeConstantInNanoseconds;
+    private double value;
+    private long nanoTime;
+
+    public SmoothingReader(TopicReader reader, long timeConstantInNanoseconds) {
+        this.reader = reader;
+        this.timeConstantInNanoseconds = timeConstantInNanoseconds;
+        this.value = Double.NaN;
+    }
+
+    private TopicReader getReader() {
+        return reader;
+    }
+
+    private long getTimeConstantInNanoseconds() {
+        return timeConstantInNanoseconds;
+    }
+
+    @Override
+    public synchronized Object read(long jobRunningTimeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        Object sample = getReader().read(jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+
+        if (!(sample instanceof Number)) {
+            return sample;
+        }
+
+        double sampleValue = ((Number) sample).doubleValue();
+        long sampleNanoTime = System.nanoTime();
+
+        if (Double.isNaN(value)) {
+            value = sampleValue;
+        } else {
+            double weight = 1D - Math.exp(-(sampleNanoTime - nanoTime) / (double) getTimeConstantInNanoseconds());
+            value += weight * (sampleValue - value);
+        }
+
+        nanoTime = sampleNanoTime;
+
+        return value;
+    }
+}
@@ -0,0 +1,51 @@
+package com.homepanel.system.service;
+
+import com.homepanel.system.system.client.DeviceNotFoundException;
+import com.homepanel.system.system.client.SystemInfo;
+
+/**
+ * Keeps the value of a reader for a channel that only changes with the devices of its group, the value is read again
+ * only after the device generation of the group changed.
+ */
+public class StaticReader implements TopicReader {
+
+    private final TopicReader reader;
+    private final SystemInfo systemInfo;
+    private final SystemConstants.GROUP group;
+    private Object value;
+    private long valueDeviceGeneration;
+    private boolean valid;
+
+    public StaticReader(TopicReader reader, SystemInfo systemInfo, SystemConstants.GROUP group) {
+        this.reader = reader;
+        this.systemInfo = systemInfo;
+        this.group = group;
+    }
+
+    private TopicReader getReader() {
+        return reader;
+    }
+
+    private SystemInfo getSystemInfo() {
+        return systemInfo;
+    }
+
+    private SystemConstants.GROUP getGroup() {
+        return group;
+    }
+
+    @Override
+    public synchronized Object read(long jobRunningTimeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        // the generation is taken before reading, so a change during the read is picked up by the next read
+        long currentDeviceGeneration = getSystemInfo().getDeviceGeneration(getGroup(), jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+
+        if (!valid || currentDeviceGeneration != valueDeviceGeneration) {
+            value = getReader().read(jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds);
+            valueDeviceGeneration = currentDeviceGeneration;
+            valid = true;
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,123 @@
+package com.homepanel.system.service;
+
+import com.homepanel.core.state.Type;
+import com.homepanel.system.config.Config;
+import com.homepanel.system.config.Topic;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the history of a topic with statistics and one derived topic per statistic. A derived topic is published
+ * below the path of its topic, named by the statistic and the window, e.g. "system/1/cpu/load/avg5m" for the mean of
+ * the last 5 minutes.
+ */
+public class StatisticTopics {
+
+    private final static TimeUnit DEFAULT_STATISTICS_WINDOW_UNIT = TimeUnit.SECONDS;
+    // one day of values read every second
+    private final static int MAX_HISTORY_CAPACITY = 86_400;
+
+    private final static Map<SystemConstants.STATISTIC, String> NAMES = new EnumMap<>(SystemConstants.STATISTIC.class);
+    private final static Map<TimeUnit, String> UNITS = new EnumMap<>(TimeUnit.class);
+
+    static {
+        NAMES.put(SystemConstants.STATISTIC.MIN, "min");
+        NAMES.put(SystemConstants.STATISTIC.MAX, "max");
+        NAMES.put(SystemConstants.STATISTIC.MEAN, "avg");
+        NAMES.put(SystemConstants.STATISTIC.P95, "p95");
+
+        UNITS.put(TimeUnit.MILLISECONDS, "ms");
+        UNITS.put(TimeUnit.SECONDS, "s");
+        UNITS.put(TimeUnit.MINUTES, "m");
+        UNITS.put(TimeUnit.HOURS, "h");
+        UNITS.put(TimeUnit.DAYS, "d");
+    }
+
+    /**
+     * @return null if the statistics attributes of the topic are valid, a description of the error otherwise
+     */
+    public static String validate(Topic topic, boolean numeric) {
+
+        if (topic.getStatistics() == null || topic.getStatistics().isEmpty()) {
+            return null;
+        }
+
+        if (!numeric) {
+            return String.format("attribute \"statistics\" is only supported for numeric channels, not for topic \"%s\" with group \"%s\" and channel \"%s\"", topic.getPath(), topic.getGroup(), topic.getChannel());
+        }
+
+        if (topic.getStatisticsWindowValue() == null || topic.getStatisticsWindowValue() <= 0) {
+            return String.format("a positive attribute \"statisticsWindowValue\" is required for topic \"%s\" with attribute \"statistics\"", topic.getPath());
+        }
+
+        if (topic.getStatisticsWindowUnit() != null && !UNITS.containsKey(topic.getStatisticsWindowUnit())) {
+            return String.format("attribute \"statisticsWindowUnit\" of topic \"%s\" must be one of %s", topic.getPath(), UNITS.keySet());
+        }
+
+        if (topic.getRefreshIntervalValue() == null || topic.getRefreshIntervalUnit() == null) {
+            return String.format("attributes \"refreshIntervalValue\" and \"refreshIntervalUnit\" are required for topic \"%s\" with attribute \"statistics\"", topic.getPath());
+        }
+
+        if (getCapacity(topic) > MAX_HISTORY_CAPACITY) {
+            return String.format("the statistics window of topic \"%s\" must not cover more than %d values", topic.getPath(), MAX_HISTORY_CAPACITY);
+        }
+
+        return null;
+    }
+
+    /**
+     * sets history and derived topics of a topic validated by {@link #validate(Topic, boolean)}
+     */
+    public static void create(Topic topic) {
+
+        if (topic.getStatistics() == null || topic.getStatistics().isEmpty()) {
+            return;
+        }
+
+        History history = new History((int) getCapacity(topic), getWindowUnit(topic).toMillis(topic.getStatisticsWindowValue()), topic.getStatistics().contains(SystemConstants.STATISTIC.P95));
+        String suffix = topic.getStatisticsWindowValue() + UNITS.get(getWindowUnit(topic));
+        List<Topic> statisticTopics = new ArrayList<>();
+
+        for (SystemConstants.STATISTIC statistic : topic.getStatistics()) {
+
+            Topic statisticTopic = new Topic();
+            statisticTopic.setPath(topic.getPath() + "/" + NAMES.get(statistic) + suffix);
+            statisticTopic.setType(Config.getType(Type.NAME.DOUBLE.name()));
+            statisticTopic.setGroup(topic.getGroup());
+            statisticTopic.setChannel(topic.getChannel());
+            statisticTopic.setIndex(topic.getIndex());
+            statisticTopic.setDevice(topic.getDevice());
+            statisticTopic.setPublish(topic.getPublish());
+            statisticTopic.setDeadbandAbsolute(topic.getDeadbandAbsolute());
+            statisticTopic.setDeadbandPercent(topic.getDeadbandPercent());
+            statisticTopic.setHeartbeatIntervalValue(topic.getHeartbeatIntervalValue());
+            statisticTopic.setHeartbeatIntervalUnit(topic.getHeartbeatIntervalUnit());
+            statisticTopic.setReader((jobRunningTimeInMilliseconds, refreshIntervalInMilliseconds) -> {
+                double value = history.getStatistic(statistic);
+                return Double.isNaN(value) ? null : value;
+            });
+
+            statisticTopics.add(statisticTopic);
+        }
+
+        topic.setHistory(history);
+        topic.setStatisticTopics(statisticTopics);
+    }
+
+    private static TimeUnit getWindowUnit(Topic topic) {
+        return topic.getStatisticsWindowUnit() != null ? topic.getStatisticsWindowUnit() : DEFAULT_STATISTICS_WINDOW_UNIT;
+    }
+
+    private static long getCapacity(Topic topic) {
+
+        long windowInMilliseconds = getWindowUnit(topic).toMillis(topic.getStatisticsWindowValue());
+        long refreshIntervalInMilliseconds = Math.max(topic.getRefreshIntervalUnit().toMillis(topic.getRefreshIntervalValue()), 1L);
+
+        // one more value than fits into the window, since the oldest value may be polled slightly late
+        return (windowInMilliseconds + refreshIntervalInMilliseconds - 1) / refreshIntervalInMilliseconds + 1;
+    }
+}
@@ -2,6 +2,38 @@ package com.homepanel.system.service;
 
 public class SystemConstants {
 
+    public enum COLLECTOR {
+        OSHI,
+        PROCFS
+    }
+
+    public enum PUBLISH {
+        ALWAYS,
+        ON_CHANGE
+    }
+
+    public enum SCHEDULER {
+        CORE,
+        WHEEL
+    }
+
+    public enum POLLING {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    public enum OVERFLOW {
+        DROP_OLDEST,
+        CONFLATE
+    }
+
+    public enum STATISTIC {
+        MIN,
+        MAX,
+        MEAN,
+        P95
+    }
+
     public enum GROUP {
         MEMORY,
         SWAP,
@@ -46,6 +78,29 @@ public class SystemConstants {
         DATA_RECEIVED,
         LOAD,
         THREADS,
-        PATH
+        PATH,
+        COUNT,
+        READ_RATE,
+        WRITE_RATE,
+        OPERATIONS_RATE,
+        BUSY_PERCENT,
+        QUEUE_LENGTH,
+        DATA_SENT_RATE,
+        DATA_RECEIVED_RATE,
+        PACKETS_SENT_RATE,
+        PACKETS_RECEIVED_RATE,
+        TOP_CPU,
+        TOP_MEMORY,
+        CORE_LOAD,
+        CORE_LOADS,
+        USER,
+        NICE,
+        SYSTEM,
+        IDLE,
+        IOWAIT,
+        IRQ,
+        SOFTIRQ,
+        STEAL,
+        BATCH
     }
 }
\ No newline at end of file
@@ -0,0 +1,291 @@
+package com.homepanel.system.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timer wheel running periodic jobs at multiples of their interval, so all jobs with the same interval fire at
+ * the same moment. Advancing the wheel by one tick only visits the jobs of one slot. A job that is still running when
+ * it is due again skips this run instead of being queued. Ticks are timed by the monotonic clock, the wall clock only
+ * aligns the deadlines of the jobs, so the wheel is aligned again instead of stalling or replaying when it steps.
+ */
+public class TimerWheel {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(TimerWheel.class);
+    private final static long SKIP_WARNING_INTERVAL_IN_NANOSECONDS = TimeUnit.MINUTES.toNanos(1);
+
+    @FunctionalInterface
+    public interface Job {
+        /**
+         * @param timeInMilliseconds time the job was due, a multiple of its interval
+         */
+        void run(long timeInMilliseconds);
+    }
+
+    private static class Timer {
+
+        private final String name;
+        private final long intervalInMilliseconds;
+        private final Job job;
+        private final AtomicBoolean running;
+        private long deadlineInMilliseconds;
+        private long rounds;
+        private Timer next;
+        private long unreportedSkippedRuns;
+        private long skipWarningNanoTime;
+
+        private Timer(String name, long intervalInMilliseconds, Job job) {
+            this.name = name;
+            this.intervalInMilliseconds = intervalInMilliseconds;
+            this.job = job;
+            this.running = new AtomicBoolean();
+            this.skipWarningNanoTime = System.nanoTime() - SKIP_WARNING_INTERVAL_IN_NANOSECONDS;
+        }
+
+        private String getName() {
+            return name;
+        }
+
+        private long getIntervalInMilliseconds() {
+            return intervalInMilliseconds;
+        }
+
+        private Job getJob() {
+            return job;
+        }
+
+        private AtomicBoolean getRunning() {
+            return running;
+        }
+    }
+
+    private final long tickInMilliseconds;
+    private final Timer[] slots;
+    private final ExecutorService executorService;
+    private final AtomicLong skippedRuns;
+    private final Thread thread;
+    private long tick;
+    private long baseTick;
+    private long baseNanoTime;
+
+    /**
+     * @param slots number of slots, a power of two
+     */
+    public TimerWheel(long tickInMilliseconds, int slots, ExecutorService executorService) {
+
+        if (Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("number of slots must be a power of two");
+        }
+
+        this.tickInMilliseconds = tickInMilliseconds;
+        this.slots = new Timer[slots];
+        this.executorService = executorService;
+        this.skippedRuns = new AtomicLong();
+        this.thread = new Thread(this::runWheel, "timer-wheel");
+        this.thread.setDaemon(true);
+        rebase(System.currentTimeMillis(), System.nanoTime());
+    }
+
+    private long getTickInMilliseconds() {
+        return tickInMilliseconds;
+    }
+
+    private Timer[] getSlots() {
+        return slots;
+    }
+
+    private ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    private Thread getThread() {
+        return thread;
+    }
+
+    /**
+     * @return number of runs skipped because the previous run of their job had not finished
+     */
+    public long getSkippedRuns() {
+        return skippedRuns.get();
+    }
+
+    /**
+     * adds a periodic job, jobs must be added before the wheel is started
+     */
+    public void schedule(String name, long intervalInMilliseconds, Job job) {
+
+        if (getThread().isAlive()) {
+            throw new IllegalStateException("jobs must be added before the timer wheel is started");
+        }
+
+        Timer timer = new Timer(name, intervalInMilliseconds, job);
+        timer.deadlineInMilliseconds = (Math.floorDiv(System.currentTimeMillis(), intervalInMilliseconds) + 1) * intervalInMilliseconds;
+
+        insert(timer);
+    }
+
+    public void start() {
+        getThread().start();
+    }
+
+    public void stop() {
+        getThread().interrupt();
+    }
+
+    private void insert(Timer timer) {
+
+        // deadlines are rounded up to the next tick
+        long deadlineTick = Math.max(Math.floorDiv(timer.deadlineInMilliseconds + getTickInMilliseconds() - 1, getTickInMilliseconds()), tick + 1);
+        int slot = (int) (deadlineTick & (getSlots().length - 1));
+
+        timer.rounds = (deadlineTick - tick - 1) / getSlots().length;
+        timer.next = getSlots()[slot];
+        getSlots()[slot] = timer;
+    }
+
+    private void runWheel() {
+
+        long revolutionInMilliseconds = getSlots().length * getTickInMilliseconds();
+
+        while (!Thread.currentThread().isInterrupted()) {
+
+            long sleepInNanoseconds = baseNanoTime + TimeUnit.MILLISECONDS.toNanos((tick + 1 - baseTick) * getTickInMilliseconds()) - System.nanoTime();
+
+            if (sleepInNanoseconds > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepInNanoseconds);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+
+            long nanoTime = System.nanoTime();
+            long timeInMilliseconds = System.currentTimeMillis();
+            long elapsedInMilliseconds = TimeUnit.NANOSECONDS.toMillis(nanoTime - baseNanoTime);
+            long currentTick = baseTick + elapsedInMilliseconds / getTickInMilliseconds();
+            long clockStepInMilliseconds = timeInMilliseconds - (baseTick * getTickInMilliseconds() + elapsedInMilliseconds);
+
+            // replaying more than a revolution would only fire the same slots again
+            if (currentTick - tick > getSlots().length || Math.abs(clockStepInMilliseconds) > revolutionInMilliseconds) {
+                LOGGER.warn("wall clock stepped by {} ms or the timer wheel was {} ticks late, aligning the timer wheel again", clockStepInMilliseconds, currentTick - tick);
+                rebase(timeInMilliseconds, nanoTime);
+                continue;
+            }
+
+            // a late wheel catches up tick by tick, so no slot is left out
+            while (tick < currentTick) {
+                advance();
+            }
+        }
+    }
+
+    /**
+     * aligns the current tick to the wall clock and the deadlines of all jobs to their next multiple of their interval
+     */
+    private void rebase(long timeInMilliseconds, long nanoTime) {
+
+        tick = Math.floorDiv(timeInMilliseconds, getTickInMilliseconds());
+        baseTick = tick;
+        baseNanoTime = nanoTime - TimeUnit.MILLISECONDS.toNanos(timeInMilliseconds - tick * getTickInMilliseconds());
+
+        Timer timers = null;
+
+        for (int slot = 0; slot < getSlots().length; slot++) {
+            Timer timer = getSlots()[slot];
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.next = timers;
+                timers = timer;
+                timer = next;
+            }
+            getSlots()[slot] = null;
+        }
+
+        while (timers != null) {
+            Timer next = timers.next;
+            timers.deadlineInMilliseconds = (Math.floorDiv(timeInMilliseconds, timers.getIntervalInMilliseconds()) + 1) * timers.getIntervalInMilliseconds();
+            insert(timers);
+            timers = next;
+        }
+    }
+
+    private void advance() {
+
+        tick++;
+
+        int slot = (int) (tick & (getSlots().length - 1));
+        Timer timer = getSlots()[slot];
+        Timer due = null;
+        Timer previous = null;
+
+        while (timer != null) {
+
+            Timer next = timer.next;
+
+            if (timer.rounds > 0) {
+                timer.rounds--;
+                previous = timer;
+            } else {
+                if (previous == null) {
+                    getSlots()[slot] = next;
+                } else {
+                    previous.next = next;
+                }
+                timer.next = due;
+                due = timer;
+            }
+
+            timer = next;
+        }
+
+        while (due != null) {
+            Timer next = due.next;
+            fire(due);
+            due.deadlineInMilliseconds += due.getIntervalInMilliseconds();
+            insert(due);
+            due = next;
+        }
+    }
+
+    private void fire(Timer timer) {
+
+        if (!timer.getRunning().compareAndSet(false, true)) {
+
+            skippedRuns.incrementAndGet();
+            timer.unreportedSkippedRuns++;
+
+            // skipped runs are reported once per interval per job
+            long nanoTime = System.nanoTime();
+
+            if (nanoTime - timer.skipWarningNanoTime >= SKIP_WARNING_INTERVAL_IN_NANOSECONDS) {
+                LOGGER.warn("skipped {} runs of \"{}\", the last one due at {}, the previous run had not finished within {} ms", timer.unreportedSkippedRuns, timer.getName(), timer.deadlineInMilliseconds, timer.getIntervalInMilliseconds());
+                timer.unreportedSkippedRuns = 0;
+                timer.skipWarningNanoTime = nanoTime;
+            }
+
+            return;
+        }
+
+        long deadlineInMilliseconds = timer.deadlineInMilliseconds;
+
+        try {
+            getExecutorService().execute(() -> {
+                try {
+                    timer.getJob().run(deadlineInMilliseconds);
+                } catch (Exception e) {
+                    LOGGER.error("error running \"{}\"", timer.getName(), e);
+                } finally {
+                    timer.getRunning().set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            timer.getRunning().set(false);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.homepanel.system.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read latency and error counters shared by all topics of the same group and channel.
+ */
+public class TopicMetrics {
+
+    private final LatencyHistogram readLatency;
+    private final LongAdder errors;
+    private final LongAdder devicesNotFound;
+
+    public TopicMetrics() {
+        this.readLatency = new LatencyHistogram();
+        this.errors = new LongAdder();
+        this.devicesNotFound = new LongAdder();
+    }
+
+    public LatencyHistogram getReadLatency() {
+        return readLatency;
+    }
+
+    public LongAdder getErrors() {
+        return errors;
+    }
+
+    public LongAdder getDevicesNotFound() {
+        return devicesNotFound;
+    }
+}
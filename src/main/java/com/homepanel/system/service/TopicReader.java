@@ -0,0 +1,9 @@
+package com.homepanel.system.service;
+
+import com.homepanel.system.system.client.DeviceNotFoundException;
+
+@FunctionalInterface
+public interface TopicReader {
+
+    Object read(long jobRunningTimeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException;
+}
@@ -0,0 +1,455 @@
+package com.homepanel.system.service;
+
+import com.homepanel.core.state.Type;
+import com.homepanel.system.config.Config;
+import com.homepanel.system.config.Topic;
+import com.homepanel.system.system.client.ProcessMatcher;
+import com.homepanel.system.system.client.SystemInfo;
+import com.homepanel.system.system.client.TopProcesses;
+import oshi.hardware.CentralProcessor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles every topic into a {@link TopicReader} bound to its getter, index and process id, so polling a topic does
+ * not need to dispatch on its group and channel again. Topics addressing their device by name are bound to the index
+ * the device currently has.
+ */
+public class TopicReaders {
+
+    private enum REQUIREMENT {
+        NONE,
+        INDEX,
+        PROCESS_ID,
+        PROCESS_TABLE
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        TopicReader bind(SystemInfo systemInfo, int index, ProcessMatcher processMatcher, int limit);
+    }
+
+    private static class Binding {
+
+        private final Type.NAME typeName;
+        private final REQUIREMENT requirement;
+        private final Binder binder;
+
+        private Binding(Type.NAME typeName, REQUIREMENT requirement, Binder binder) {
+            this.typeName = typeName;
+            this.requirement = requirement;
+            this.binder = binder;
+        }
+
+        private Type.NAME getTypeName() {
+            return typeName;
+        }
+
+        private REQUIREMENT getRequirement() {
+            return requirement;
+        }
+
+        private Binder getBinder() {
+            return binder;
+        }
+    }
+
+    private final static Set<SystemConstants.GROUP> DEVICE_GROUPS = EnumSet.of(SystemConstants.GROUP.STORAGE, SystemConstants.GROUP.DRIVE, SystemConstants.GROUP.DISPLAY, SystemConstants.GROUP.BATTERY, SystemConstants.GROUP.NETWORK);
+    // groups whose devices can be addressed by name instead of index
+    private final static Set<SystemConstants.GROUP> NAMED_DEVICE_GROUPS = EnumSet.of(SystemConstants.GROUP.STORAGE, SystemConstants.GROUP.DRIVE, SystemConstants.GROUP.BATTERY, SystemConstants.GROUP.NETWORK);
+    private final static int DEFAULT_DEVICE_INDEX = 0;
+    private final static int DEFAULT_LIMIT = 5;
+    private final static TimeUnit DEFAULT_SMOOTHING_INTERVAL_UNIT = TimeUnit.SECONDS;
+
+    // channels publishing a JSON array can not be nested into the JSON object of a batch
+    private final static Set<SystemConstants.CHANNEL> JSON_ARRAY_CHANNELS = EnumSet.of(SystemConstants.CHANNEL.CORE_LOADS, SystemConstants.CHANNEL.TOP_CPU, SystemConstants.CHANNEL.TOP_MEMORY);
+
+    // channels that only change with the devices of their group
+    private final static Map<SystemConstants.GROUP, Set<SystemConstants.CHANNEL>> STATIC_CHANNELS = new EnumMap<>(Map.of(
+            SystemConstants.GROUP.CPU, EnumSet.of(SystemConstants.CHANNEL.NAME, SystemConstants.CHANNEL.DESCRIPTION),
+            SystemConstants.GROUP.DRIVE, EnumSet.of(SystemConstants.CHANNEL.NAME, SystemConstants.CHANNEL.MODEL, SystemConstants.CHANNEL.SERIAL_NUMBER),
+            SystemConstants.GROUP.DISPLAY, EnumSet.of(SystemConstants.CHANNEL.INFORMATION),
+            SystemConstants.GROUP.NETWORK, EnumSet.of(SystemConstants.CHANNEL.MAC_ADDRESS, SystemConstants.CHANNEL.NETWORK_NAME, SystemConstants.CHANNEL.NETWORK_DISPLAY_NAME)));
+
+    private final static Map<SystemConstants.GROUP, Map<SystemConstants.CHANNEL, Binding>> BINDINGS = new EnumMap<>(SystemConstants.GROUP.class);
+
+    static {
+        add(SystemConstants.GROUP.MEMORY, SystemConstants.CHANNEL.AVAILABLE, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getMemoryAvailable(time));
+        add(SystemConstants.GROUP.MEMORY, SystemConstants.CHANNEL.TOTAL, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getMemoryTotal(time));
+        add(SystemConstants.GROUP.MEMORY, SystemConstants.CHANNEL.MEMORY_USED, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getMemoryUsed(time));
+        add(SystemConstants.GROUP.MEMORY, SystemConstants.CHANNEL.AVAILABLE_PERCENT, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getMemoryAvailablePercent(time));
+        add(SystemConstants.GROUP.MEMORY, SystemConstants.CHANNEL.USED_PERCENT, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getMemoryUsedPercent(time));
+
+        add(SystemConstants.GROUP.SWAP, SystemConstants.CHANNEL.AVAILABLE, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getSwapAvailable(time));
+        add(SystemConstants.GROUP.SWAP, SystemConstants.CHANNEL.TOTAL, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getSwapTotal(time));
+        add(SystemConstants.GROUP.SWAP, SystemConstants.CHANNEL.MEMORY_USED, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getSwapUsed(time));
+        add(SystemConstants.GROUP.SWAP, SystemConstants.CHANNEL.AVAILABLE_PERCENT, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getSwapAvailablePercent(time));
+        add(SystemConstants.GROUP.SWAP, SystemConstants.CHANNEL.USED_PERCENT, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getSwapUsedPercent(time));
+
+        add(SystemConstants.GROUP.STORAGE, SystemConstants.CHANNEL.AVAILABLE, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getStorageAvailable(index, time, refreshInterval));
+        add(SystemConstants.GROUP.STORAGE, SystemConstants.CHANNEL.TOTAL, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getStorageTotal(index, time, refreshInterval));
+        add(SystemConstants.GROUP.STORAGE, SystemConstants.CHANNEL.MEMORY_USED, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getStorageUsed(index, time, refreshInterval));
+        add(SystemConstants.GROUP.STORAGE, SystemConstants.CHANNEL.AVAILABLE_PERCENT, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getStorageAvailablePercent(index, time, refreshInterval));
+        add(SystemConstants.GROUP.STORAGE, SystemConstants.CHANNEL.USED_PERCENT, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getStorageUsedPercent(index, time, refreshInterval));
+        add(SystemConstants.GROUP.STORAGE, SystemConstants.CHANNEL.NAME, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getStorageName(index, time, refreshInterval));
+        add(SystemConstants.GROUP.STORAGE, SystemConstants.CHANNEL.DESCRIPTION, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getStorageDescription(index, time, refreshInterval));
+        add(SystemConstants.GROUP.STORAGE, SystemConstants.CHANNEL.TYPE, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getStorageType(index, time, refreshInterval));
+
+        add(SystemConstants.GROUP.DRIVE, SystemConstants.CHANNEL.NAME, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getDriveName(index, time, refreshInterval));
+        add(SystemConstants.GROUP.DRIVE, SystemConstants.CHANNEL.MODEL, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getDriveModel(index, time, refreshInterval));
+        add(SystemConstants.GROUP.DRIVE, SystemConstants.CHANNEL.SERIAL_NUMBER, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getDriveSerialNumber(index, time, refreshInterval));
+        add(SystemConstants.GROUP.DRIVE, SystemConstants.CHANNEL.READ_RATE, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getDriveReadRate(index, time, refreshInterval));
+        add(SystemConstants.GROUP.DRIVE, SystemConstants.CHANNEL.WRITE_RATE, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getDriveWriteRate(index, time, refreshInterval));
+        add(SystemConstants.GROUP.DRIVE, SystemConstants.CHANNEL.OPERATIONS_RATE, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getDriveOperationsRate(index, time, refreshInterval));
+        add(SystemConstants.GROUP.DRIVE, SystemConstants.CHANNEL.BUSY_PERCENT, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getDriveBusyPercent(index, time, refreshInterval));
+        add(SystemConstants.GROUP.DRIVE, SystemConstants.CHANNEL.QUEUE_LENGTH, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getDriveQueueLength(index, time, refreshInterval));
+
+        add(SystemConstants.GROUP.DISPLAY, SystemConstants.CHANNEL.INFORMATION, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getDisplayInformation(index, time, refreshInterval));
+
+        add(SystemConstants.GROUP.BATTERY, SystemConstants.CHANNEL.NAME, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getBatteryName(index, time, refreshInterval));
+        add(SystemConstants.GROUP.BATTERY, SystemConstants.CHANNEL.REMAINING_CAPACITY, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getBatteryRemainingCapacity(index, time, refreshInterval));
+        add(SystemConstants.GROUP.BATTERY, SystemConstants.CHANNEL.REMAINING_TIME, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getBatteryRemainingTime(index, time, refreshInterval));
+
+        add(SystemConstants.GROUP.CPU, SystemConstants.CHANNEL.NAME, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getCpuName());
+        add(SystemConstants.GROUP.CPU, SystemConstants.CHANNEL.DESCRIPTION, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getCpuDescription());
+        add(SystemConstants.GROUP.CPU, SystemConstants.CHANNEL.LOAD, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getCpuLoad(time, refreshInterval));
+        add(SystemConstants.GROUP.CPU, SystemConstants.CHANNEL.LOAD1, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getCpuLoad1());
+        add(SystemConstants.GROUP.CPU, SystemConstants.CHANNEL.LOAD5, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getCpuLoad5());
+        add(SystemConstants.GROUP.CPU, SystemConstants.CHANNEL.LOAD15, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getCpuLoad15());
+        add(SystemConstants.GROUP.CPU, SystemConstants.CHANNEL.UPTIME, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getCpuUptime());
+        add(SystemConstants.GROUP.CPU, SystemConstants.CHANNEL.THREADS, Type.NAME.INTEGER, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getCpuThreads());
+        add(SystemConstants.GROUP.CPU, SystemConstants.CHANNEL.CORE_LOAD, Type.NAME.DOUBLE, REQUIREMENT.INDEX, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getCpuCoreLoad(index, time));
+        add(SystemConstants.GROUP.CPU, SystemConstants.CHANNEL.CORE_LOADS, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> toJson(systemInfo.getCpuCoreLoads(time)));
+        addTickType(SystemConstants.CHANNEL.USER, CentralProcessor.TickType.USER);
+        addTickType(SystemConstants.CHANNEL.NICE, CentralProcessor.TickType.NICE);
+        addTickType(SystemConstants.CHANNEL.SYSTEM, CentralProcessor.TickType.SYSTEM);
+        addTickType(SystemConstants.CHANNEL.IDLE, CentralProcessor.TickType.IDLE);
+        addTickType(SystemConstants.CHANNEL.IOWAIT, CentralProcessor.TickType.IOWAIT);
+        addTickType(SystemConstants.CHANNEL.IRQ, CentralProcessor.TickType.IRQ);
+        addTickType(SystemConstants.CHANNEL.SOFTIRQ, CentralProcessor.TickType.SOFTIRQ);
+        addTickType(SystemConstants.CHANNEL.STEAL, CentralProcessor.TickType.STEAL);
+
+        add(SystemConstants.GROUP.SENSORS, SystemConstants.CHANNEL.CPU_TEMPERATURE, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getSensorsCpuTemperature(time));
+        add(SystemConstants.GROUP.SENSORS, SystemConstants.CHANNEL.CPU_VOLTAGE, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getSensorsCpuVoltage(time));
+        add(SystemConstants.GROUP.SENSORS, SystemConstants.CHANNEL.FAN_SPEED, Type.NAME.INTEGER, REQUIREMENT.INDEX, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getSensorsFanSpeed(index, time));
+
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.IP_ADDRESS, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkIpAddress(index, time, refreshInterval));
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.MAC_ADDRESS, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkMacAddress(index, time, refreshInterval));
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.NETWORK_DISPLAY_NAME, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkDisplayName(index, time, refreshInterval));
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.NETWORK_NAME, Type.NAME.STRING, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkName(index, time, refreshInterval));
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.PACKETS_SENT, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkPacketsSent(index, time, refreshInterval));
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.PACKETS_RECEIVED, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkPacketsReceived(index, time, refreshInterval));
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.DATA_SENT, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkDataSent(index, time, refreshInterval));
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.DATA_RECEIVED, Type.NAME.LONG, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkDataReceived(index, time, refreshInterval));
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.PACKETS_SENT_RATE, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkPacketsSentRate(index, time, refreshInterval));
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.PACKETS_RECEIVED_RATE, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkPacketsReceivedRate(index, time, refreshInterval));
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.DATA_SENT_RATE, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkDataSentRate(index, time, refreshInterval));
+        add(SystemConstants.GROUP.NETWORK, SystemConstants.CHANNEL.DATA_RECEIVED_RATE, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getNetworkDataReceivedRate(index, time, refreshInterval));
+
+        add(SystemConstants.GROUP.PROCESS, SystemConstants.CHANNEL.NAME, Type.NAME.STRING, REQUIREMENT.PROCESS_ID, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getProcessName(processMatcher, time));
+        add(SystemConstants.GROUP.PROCESS, SystemConstants.CHANNEL.PATH, Type.NAME.STRING, REQUIREMENT.PROCESS_ID, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getProcessPath(processMatcher, time));
+        add(SystemConstants.GROUP.PROCESS, SystemConstants.CHANNEL.LOAD, Type.NAME.DOUBLE, REQUIREMENT.PROCESS_ID, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getProcessCpuUsage(processMatcher, time));
+        add(SystemConstants.GROUP.PROCESS, SystemConstants.CHANNEL.MEMORY_USED, Type.NAME.LONG, REQUIREMENT.PROCESS_ID, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getProcessMemoryUsage(processMatcher, time));
+        add(SystemConstants.GROUP.PROCESS, SystemConstants.CHANNEL.THREADS, Type.NAME.INTEGER, REQUIREMENT.PROCESS_ID, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getProcessThreads(processMatcher, time));
+        add(SystemConstants.GROUP.PROCESS, SystemConstants.CHANNEL.COUNT, Type.NAME.INTEGER, REQUIREMENT.PROCESS_ID, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getProcessCount(processMatcher, time));
+        add(SystemConstants.GROUP.PROCESS, SystemConstants.CHANNEL.TOP_CPU, Type.NAME.STRING, REQUIREMENT.PROCESS_TABLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> toJson(systemInfo.getProcessesTopCpu(limit, time)));
+        add(SystemConstants.GROUP.PROCESS, SystemConstants.CHANNEL.TOP_MEMORY, Type.NAME.STRING, REQUIREMENT.PROCESS_TABLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> toJson(systemInfo.getProcessesTopMemory(limit, time)));
+    }
+
+    private static void addTickType(SystemConstants.CHANNEL channel, CentralProcessor.TickType tickType) {
+        add(SystemConstants.GROUP.CPU, channel, Type.NAME.DOUBLE, (systemInfo, index, processMatcher, limit) -> (time, refreshInterval) -> systemInfo.getCpuTickTypeLoad(tickType, time));
+    }
+
+    private static void add(SystemConstants.GROUP group, SystemConstants.CHANNEL channel, Type.NAME typeName, Binder binder) {
+        add(group, channel, typeName, REQUIREMENT.NONE, binder);
+    }
+
+    private static void add(SystemConstants.GROUP group, SystemConstants.CHANNEL channel, Type.NAME typeName, REQUIREMENT requirement, Binder binder) {
+        BINDINGS.computeIfAbsent(group, key -> new EnumMap<>(SystemConstants.CHANNEL.class)).put(channel, new Binding(typeName, requirement, binder));
+    }
+
+    /**
+     * @return all channels supported for the given group
+     */
+    public static Set<SystemConstants.CHANNEL> getChannels(SystemConstants.GROUP group) {
+
+        Map<SystemConstants.CHANNEL, Binding> channels = BINDINGS.get(group);
+
+        return channels != null ? Collections.unmodifiableSet(channels.keySet()) : Collections.emptySet();
+    }
+
+    /**
+     * sets type and reader of the given topic
+     *
+     * @return null if the topic is valid, a description of the error otherwise
+     */
+    public static String compile(Topic topic, SystemInfo systemInfo) {
+
+        if (topic.getGroup() == null || topic.getChannel() == null) {
+            return String.format("attributes \"group\" and \"channel\" are required for topic \"%s\"", topic.getPath());
+        }
+
+        String deviceError = getDeviceError(topic);
+
+        if (deviceError != null) {
+            return deviceError;
+        }
+
+        if (topic.getIndex() == null && topic.getDevice() == null && DEVICE_GROUPS.contains(topic.getGroup())) {
+            topic.setIndex(DEFAULT_DEVICE_INDEX);
+        }
+
+        if (topic.getChannel() == SystemConstants.CHANNEL.BATCH) {
+            return compileBatch(topic, systemInfo);
+        }
+
+        Map<SystemConstants.CHANNEL, Binding> channels = BINDINGS.get(topic.getGroup());
+        Binding binding = channels != null ? channels.get(topic.getChannel()) : null;
+
+        if (binding == null) {
+            return String.format("channel \"%s\" is not supported for group \"%s\" of topic \"%s\"", topic.getChannel(), topic.getGroup(), topic.getPath());
+        }
+
+        String error = getRequirementError(topic, binding);
+
+        if (error == null) {
+            error = getSmoothingError(topic, binding);
+        }
+
+        if (error == null) {
+            error = PublishPolicy.validate(topic, binding.getTypeName() != Type.NAME.STRING);
+        }
+
+        if (error == null) {
+            error = AdaptivePolling.validate(topic, binding.getTypeName() != Type.NAME.STRING);
+        }
+
+        if (error == null) {
+            error = StatisticTopics.validate(topic, binding.getTypeName() != Type.NAME.STRING);
+        }
+
+        if (error != null) {
+            return error;
+        }
+
+        TopicReader reader = bind(topic, topic.getChannel(), binding, systemInfo);
+
+        if (topic.getSmoothingIntervalValue() != null) {
+            TimeUnit smoothingIntervalUnit = topic.getSmoothingIntervalUnit() != null ? topic.getSmoothingIntervalUnit() : DEFAULT_SMOOTHING_INTERVAL_UNIT;
+            reader = new SmoothingReader(reader, smoothingIntervalUnit.toNanos(topic.getSmoothingIntervalValue()));
+        }
+
+        topic.setType(Config.getType(binding.getTypeName().name()));
+        topic.setReader(reader);
+        topic.setAdaptivePolling(AdaptivePolling.create(topic));
+        StatisticTopics.create(topic);
+
+        return null;
+    }
+
+    /**
+     * compiles a topic publishing all channels of its group as one JSON object, channels whose requirements are not
+     * met by the topic and channels publishing a JSON array are left out
+     */
+    private static String compileBatch(Topic topic, SystemInfo systemInfo) {
+
+        List<String> names = new ArrayList<>();
+        List<TopicReader> readers = new ArrayList<>();
+
+        for (Map.Entry<SystemConstants.CHANNEL, Binding> channel : BINDINGS.getOrDefault(topic.getGroup(), Collections.emptyMap()).entrySet()) {
+            if (!JSON_ARRAY_CHANNELS.contains(channel.getKey()) && getRequirementError(topic, channel.getValue()) == null) {
+                names.add(channel.getKey().name().toLowerCase(Locale.ROOT));
+                readers.add(bind(topic, channel.getKey(), channel.getValue(), systemInfo));
+            }
+        }
+
+        if (readers.isEmpty()) {
+            return String.format("no channel of group \"%s\" can be read for topic \"%s\" with channel \"%s\"", topic.getGroup(), topic.getPath(), topic.getChannel());
+        }
+
+        String error = PublishPolicy.validate(topic, false);
+
+        if (error == null) {
+            error = AdaptivePolling.validate(topic, false);
+        }
+
+        if (error == null) {
+            error = StatisticTopics.validate(topic, false);
+        }
+
+        if (error != null) {
+            return error;
+        }
+
+        topic.setType(Config.getType(Type.NAME.STRING.name()));
+        topic.setReader(new BatchReader(names.toArray(new String[0]), readers.toArray(new TopicReader[0])));
+
+        return null;
+    }
+
+    private static String getDeviceError(Topic topic) {
+
+        if (topic.getDevice() == null) {
+            return null;
+        }
+
+        if (!NAMED_DEVICE_GROUPS.contains(topic.getGroup())) {
+            return String.format("attribute \"device\" is not supported for topic \"%s\" with group \"%s\"", topic.getPath(), topic.getGroup());
+        }
+
+        if (topic.getIndex() != null) {
+            return String.format("attributes \"index\" and \"device\" can not both be set for topic \"%s\"", topic.getPath());
+        }
+
+        if (topic.getDevice().isEmpty()) {
+            return String.format("attribute \"device\" of topic \"%s\" must not be empty", topic.getPath());
+        }
+
+        return null;
+    }
+
+    private static String getRequirementError(Topic topic, Binding binding) {
+
+        if (binding.getRequirement() == REQUIREMENT.INDEX && topic.getIndex() == null) {
+            return String.format("attribute \"index\" is required for topic \"%s\" with group \"%s\" and channel \"%s\"", topic.getPath(), topic.getGroup(), topic.getChannel());
+        }
+
+        if (binding.getRequirement() == REQUIREMENT.PROCESS_ID) {
+
+            int processSelectors = (topic.getProcessId() != null ? 1 : 0) + (topic.getProcessName() != null ? 1 : 0) + (topic.getProcessPattern() != null ? 1 : 0);
+
+            if (processSelectors != 1) {
+                return String.format("exactly one of the attributes \"processId\", \"processName\" and \"processPattern\" is required for topic \"%s\" with group \"%s\" and channel \"%s\"", topic.getPath(), topic.getGroup(), topic.getChannel());
+            }
+
+            if (topic.getProcessId() != null && topic.getProcessId() <= 0) {
+                return String.format("attribute \"processId\" of topic \"%s\" must be positive", topic.getPath());
+            }
+
+            if (topic.getProcessPattern() != null) {
+                try {
+                    ProcessMatcher.ofPattern(topic.getProcessPattern());
+                } catch (PatternSyntaxException e) {
+                    return String.format("attribute \"processPattern\" of topic \"%s\" is not a valid pattern: %s", topic.getPath(), e.getDescription());
+                }
+            }
+        }
+
+        if (binding.getRequirement() == REQUIREMENT.PROCESS_TABLE) {
+
+            if (topic.getProcessId() != null || topic.getProcessName() != null || topic.getProcessPattern() != null) {
+                return String.format("attributes \"processId\", \"processName\" and \"processPattern\" are not supported for topic \"%s\" with group \"%s\" and channel \"%s\"", topic.getPath(), topic.getGroup(), topic.getChannel());
+            }
+
+            if (topic.getLimit() != null && topic.getLimit() <= 0) {
+                return String.format("attribute \"limit\" of topic \"%s\" must be positive", topic.getPath());
+            }
+        }
+
+        return null;
+    }
+
+    private static String getSmoothingError(Topic topic, Binding binding) {
+
+        if (topic.getSmoothingIntervalValue() == null) {
+            return null;
+        }
+
+        if (binding.getTypeName() != Type.NAME.DOUBLE) {
+            return String.format("attribute \"smoothingIntervalValue\" is only supported for decimal channels, not for topic \"%s\" with group \"%s\" and channel \"%s\"", topic.getPath(), topic.getGroup(), topic.getChannel());
+        }
+
+        if (topic.getSmoothingIntervalValue() <= 0) {
+            return String.format("attribute \"smoothingIntervalValue\" of topic \"%s\" must be positive", topic.getPath());
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the reader of the given channel, static channels are read again only after the devices of their group
+     * changed
+     */
+    private static TopicReader bind(Topic topic, SystemConstants.CHANNEL channel, Binding binding, SystemInfo systemInfo) {
+
+        int limit = topic.getLimit() != null ? topic.getLimit() : DEFAULT_LIMIT;
+
+        ProcessMatcher processMatcher = getProcessMatcher(topic);
+
+        TopicReader reader;
+
+        if (topic.getDevice() != null) {
+            reader = new DeviceReader(systemInfo, topic.getGroup(), topic.getDevice(), index -> binding.getBinder().bind(systemInfo, index, processMatcher, limit));
+        } else {
+            reader = binding.getBinder().bind(systemInfo, topic.getIndex() != null ? topic.getIndex() : 0, processMatcher, limit);
+        }
+
+        if (STATIC_CHANNELS.getOrDefault(topic.getGroup(), Collections.emptySet()).contains(channel)) {
+            reader = new StaticReader(reader, systemInfo, topic.getGroup());
+        }
+
+        return reader;
+    }
+
+    private static ProcessMatcher getProcessMatcher(Topic topic) {
+
+        if (topic.getProcessName() != null) {
+            return ProcessMatcher.ofName(topic.getProcessName());
+        }
+
+        if (topic.getProcessPattern() != null) {
+            return ProcessMatcher.ofPattern(topic.getProcessPattern());
+        }
+
+        return ProcessMatcher.ofProcessId(topic.getProcessId() != null ? topic.getProcessId() : 0);
+    }
+
+    /**
+     * @return the given values as JSON array
+     */
+    private static String toJson(double[] values) {
+
+        StringBuilder builder = new StringBuilder(8 * values.length + 2);
+        builder.append('[');
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            Json.appendValue(builder, values[i]);
+        }
+
+        return builder.append(']').toString();
+    }
+
+    /**
+     * @return the given processes as JSON array of objects with process id, name and value
+     */
+    private static String toJson(TopProcesses topProcesses) {
+
+        StringBuilder builder = new StringBuilder(48 * topProcesses.getSize() + 2);
+        builder.append('[');
+
+        for (int i = 0; i < topProcesses.getSize(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append('{');
+            Json.appendValue(Json.appendName(builder, "pid"), topProcesses.getProcessId(i)).append(',');
+            Json.appendValue(Json.appendName(builder, "name"), topProcesses.getName(i)).append(',');
+            Json.appendValue(Json.appendName(builder, "value"), topProcesses.getValue(i));
+            builder.append('}');
+        }
+
+        return builder.append(']').toString();
+    }
+}
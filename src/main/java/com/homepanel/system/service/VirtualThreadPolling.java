@@ -0,0 +1,74 @@
+package com.homepanel.system.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every poll on its own virtual thread, so a blocking collector only delays the polls of its own group. The
+ * number of concurrent polls of a group is limited, a poll waiting longer than its refresh interval for its group is
+ * skipped.
+ */
+public class VirtualThreadPolling {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPolling.class);
+
+    private final ExecutorService executorService;
+    private final Map<SystemConstants.GROUP, Semaphore> semaphores;
+
+    public VirtualThreadPolling(int groupConcurrency) {
+
+        this.executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("poll-", 0).factory());
+        this.semaphores = new EnumMap<>(SystemConstants.GROUP.class);
+
+        for (SystemConstants.GROUP group : SystemConstants.GROUP.values()) {
+            this.semaphores.put(group, new Semaphore(groupConcurrency));
+        }
+    }
+
+    private ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    private Map<SystemConstants.GROUP, Semaphore> getSemaphores() {
+        return semaphores;
+    }
+
+    /**
+     * @return completes once the poll ran or was skipped
+     */
+    public Future<?> submit(SystemConstants.GROUP group, long refreshIntervalInMilliseconds, Runnable poll) {
+
+        Semaphore semaphore = getSemaphores().get(group);
+
+        return getExecutorService().submit(() -> {
+
+            try {
+                if (!semaphore.tryAcquire(refreshIntervalInMilliseconds, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warn("skipping poll of group \"{}\", previous polls are still running", group);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            try {
+                poll.run();
+            } finally {
+                semaphore.release();
+            }
+        });
+    }
+
+    public void shutdown() {
+        getExecutorService().shutdownNow();
+    }
+}
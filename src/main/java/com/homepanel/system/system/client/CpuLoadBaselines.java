@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import java.util.Arrays;
+
+/**
+ * Keeps one cpu tick baseline per refresh interval, so the load of every interval covers exactly that interval even
+ * if other intervals sample the ticks in between. The registry holds only a few intervals, so they are searched
+ * linearly in primitive arrays.
+ */
+public class CpuLoadBaselines {
+
+    private final static int INITIAL_CAPACITY = 4;
+
+    private long[] refreshIntervals;
+    private long[][] ticks;
+    private long[] nanoTimes;
+    private double[] loads;
+    private int size;
+
+    public CpuLoadBaselines() {
+        this.refreshIntervals = new long[INITIAL_CAPACITY];
+        this.ticks = new long[INITIAL_CAPACITY][];
+        this.nanoTimes = new long[INITIAL_CAPACITY];
+        this.loads = new double[INITIAL_CAPACITY];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * moves the baseline of the given interval to the snapshot if the snapshot is newer than the baseline
+     *
+     * @return the cpu load as decimal fraction between the previous baseline of the interval and the snapshot, or the
+     * load since the previous snapshot if the interval has no baseline yet
+     */
+    public synchronized double getLoad(long refreshIntervalInMilliseconds, CpuTicksSnapshot snapshot) {
+
+        int slot = find(refreshIntervalInMilliseconds);
+
+        if (slot < 0) {
+            slot = add(refreshIntervalInMilliseconds);
+            loads[slot] = snapshot.getLoad();
+            setBaseline(slot, snapshot);
+        } else if (snapshot.getNanoTime() - nanoTimes[slot] > 0) {
+            loads[slot] = CpuTicksSnapshot.getLoadBetweenTicks(ticks[slot], snapshot.getTicks(), null);
+            setBaseline(slot, snapshot);
+        }
+
+        return loads[slot];
+    }
+
+    private void setBaseline(int slot, CpuTicksSnapshot snapshot) {
+
+        if (ticks[slot] == null || ticks[slot].length != snapshot.getTicks().length) {
+            ticks[slot] = new long[snapshot.getTicks().length];
+        }
+
+        System.arraycopy(snapshot.getTicks(), 0, ticks[slot], 0, ticks[slot].length);
+        nanoTimes[slot] = snapshot.getNanoTime();
+    }
+
+    private int find(long refreshIntervalInMilliseconds) {
+
+        for (int i = 0; i < size; i++) {
+            if (refreshIntervals[i] == refreshIntervalInMilliseconds) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int add(long refreshIntervalInMilliseconds) {
+
+        if (size == refreshIntervals.length) {
+            int capacity = size * 2;
+            refreshIntervals = Arrays.copyOf(refreshIntervals, capacity);
+            ticks = Arrays.copyOf(ticks, capacity);
+            nanoTimes = Arrays.copyOf(nanoTimes, capacity);
+            loads = Arrays.copyOf(loads, capacity);
+        }
+
+        refreshIntervals[size] = refreshIntervalInMilliseconds;
+
+        return size++;
+    }
+}
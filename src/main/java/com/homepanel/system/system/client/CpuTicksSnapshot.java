@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import oshi.hardware.CentralProcessor;
+
+public class CpuTicksSnapshot extends Snapshot {
+
+    private final static int IDLE = CentralProcessor.TickType.IDLE.getIndex();
+    private final static int IOWAIT = CentralProcessor.TickType.IOWAIT.getIndex();
+
+    private final long[] ticks;
+    private final long[][] processorTicks;
+    private final double load;
+    private final double[] tickTypeLoads;
+    private final double[] processorLoads;
+
+    /**
+     * computes all loads between the previous snapshot and the given ticks in one pass
+     *
+     * @param ticks          the ticks of all processors indexed by {@link CentralProcessor.TickType#getIndex()}
+     * @param processorTicks the ticks of every logical processor indexed the same way
+     */
+    public CpuTicksSnapshot(long timeInMilliseconds, long[] ticks, long[][] processorTicks, CpuTicksSnapshot previousSnapshot) {
+        super(timeInMilliseconds);
+        this.ticks = ticks;
+        this.processorTicks = processorTicks;
+        this.tickTypeLoads = new double[ticks.length];
+        this.load = getLoadBetweenTicks(previousSnapshot != null ? previousSnapshot.getTicks() : null, ticks, tickTypeLoads);
+        this.processorLoads = new double[processorTicks.length];
+
+        long[][] previousProcessorTicks = previousSnapshot != null ? previousSnapshot.getProcessorTicks() : null;
+
+        for (int i = 0; i < processorTicks.length; i++) {
+            long[] previousTicks = previousProcessorTicks != null && i < previousProcessorTicks.length ? previousProcessorTicks[i] : null;
+            processorLoads[i] = getLoadBetweenTicks(previousTicks, processorTicks[i], null);
+        }
+    }
+
+    public long[] getTicks() {
+        return ticks;
+    }
+
+    public long[][] getProcessorTicks() {
+        return processorTicks;
+    }
+
+    /**
+     * @return the cpu load as decimal fraction between the previous snapshot and this one
+     */
+    public double getLoad() {
+        return load;
+    }
+
+    /**
+     * @return the share of the given tick type in all ticks between the previous snapshot and this one as decimal
+     * fraction
+     */
+    public double getTickTypeLoad(CentralProcessor.TickType tickType) {
+        return tickType.getIndex() < tickTypeLoads.length ? tickTypeLoads[tickType.getIndex()] : 0D;
+    }
+
+    public int getProcessorCount() {
+        return processorLoads.length;
+    }
+
+    /**
+     * @return the load of the given logical processor as decimal fraction between the previous snapshot and this one
+     */
+    public double getProcessorLoad(int index) {
+        return processorLoads[index];
+    }
+
+    /**
+     * @param tickTypeLoads receives the share of every tick type if not null
+     */
+    static double getLoadBetweenTicks(long[] previousTicks, long[] ticks, double[] tickTypeLoads) {
+
+        if (previousTicks == null || previousTicks.length != ticks.length) {
+            return 0D;
+        }
+
+        long total = 0;
+        for (int i = 0; i < ticks.length; i++) {
+            total += ticks[i] - previousTicks[i];
+        }
+
+        if (total <= 0) {
+            return 0D;
+        }
+
+        if (tickTypeLoads != null) {
+            for (int i = 0; i < ticks.length; i++) {
+                tickTypeLoads[i] = Math.max(ticks[i] - previousTicks[i], 0L) / (double) total;
+            }
+        }
+
+        long idle = ticks[IDLE] + ticks[IOWAIT] - previousTicks[IDLE] - previousTicks[IOWAIT];
+
+        return idle >= 0 ? (double) (total - idle) / total : 0D;
+    }
+}
@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Holds the enumerated devices of one device class in an immutable holder that is swapped atomically. Only one thread
+ * enumerates the devices at a time, all other threads keep using the previous devices meanwhile and only wait if
+ * there are no devices yet. Devices can be looked up by their position or by one of their keys, the index of the keys
+ * is only rebuilt and the generation only incremented if the keys of the enumerated devices changed.
+ */
+public class DeviceCache<T> {
+
+    private static class Devices<T> {
+
+        private final T[] devices;
+        private final long timeInMilliseconds;
+        private final List<String> keys;
+        private final Map<String, Integer> indexes;
+        private final long generation;
+
+        private Devices(T[] devices, long timeInMilliseconds, List<String> keys, Map<String, Integer> indexes, long generation) {
+            this.devices = devices;
+            this.timeInMilliseconds = timeInMilliseconds;
+            this.keys = keys;
+            this.indexes = indexes;
+            this.generation = generation;
+        }
+
+        private T[] getDevices() {
+            return devices;
+        }
+
+        private long getTimeInMilliseconds() {
+            return timeInMilliseconds;
+        }
+
+        private List<String> getKeys() {
+            return keys;
+        }
+
+        private Map<String, Integer> getIndexes() {
+            return indexes;
+        }
+
+        private long getGeneration() {
+            return generation;
+        }
+    }
+
+    private final String name;
+    private final Supplier<T[]> loader;
+    private final Function<T, String[]> keyFunction;
+    private final AtomicReference<Devices<T>> devices;
+    private final ReentrantLock lock;
+
+    /**
+     * @param name   the name of the device class used in error messages
+     * @param loader enumerates the devices
+     */
+    public DeviceCache(String name, Supplier<T[]> loader) {
+        this(name, loader, null);
+    }
+
+    /**
+     * @param keyFunction returns the keys a device can be looked up by, null elements are ignored
+     */
+    public DeviceCache(String name, Supplier<T[]> loader, Function<T, String[]> keyFunction) {
+        this.name = name;
+        this.loader = loader;
+        this.keyFunction = keyFunction;
+        this.devices = new AtomicReference<>();
+        this.lock = new ReentrantLock();
+    }
+
+    private String getName() {
+        return name;
+    }
+
+    private Supplier<T[]> getLoader() {
+        return loader;
+    }
+
+    private Function<T, String[]> getKeyFunction() {
+        return keyFunction;
+    }
+
+    private AtomicReference<Devices<T>> getDevices() {
+        return devices;
+    }
+
+    private ReentrantLock getLock() {
+        return lock;
+    }
+
+    /**
+     * @return the time of the last enumeration or null if the devices were not enumerated yet
+     */
+    public Long getTimeInMilliseconds() {
+
+        Devices<T> current = getDevices().get();
+
+        return current != null ? current.getTimeInMilliseconds() : null;
+    }
+
+    /**
+     * lets the next read enumerate the devices again, reads meanwhile keep using the previous devices
+     */
+    public void invalidate() {
+        getDevices().updateAndGet(current -> current != null ? new Devices<>(current.getDevices(), Long.MIN_VALUE, current.getKeys(), current.getIndexes(), current.getGeneration()) : null);
+    }
+
+    private static boolean isExpired(Devices<?> devices, long timeInMilliseconds, long maxAgeInMilliseconds) {
+        return devices == null || devices.getTimeInMilliseconds() <= timeInMilliseconds - maxAgeInMilliseconds;
+    }
+
+    public T get(int index, long timeInMilliseconds, long maxAgeInMilliseconds) throws DeviceNotFoundException {
+
+        Devices<T> current = getCurrent(timeInMilliseconds, maxAgeInMilliseconds);
+
+        if (current == null || current.getDevices() == null || index < 0 || current.getDevices().length <= index) {
+            throw new DeviceNotFoundException(getName() + " with index: " + index + " can not be found");
+        }
+
+        return current.getDevices()[index];
+    }
+
+    /**
+     * @return the current index of the device with the given key
+     */
+    public int getIndex(String key, long timeInMilliseconds, long maxAgeInMilliseconds) throws DeviceNotFoundException {
+
+        Devices<T> current = getCurrent(timeInMilliseconds, maxAgeInMilliseconds);
+        Integer index = current != null && current.getIndexes() != null ? current.getIndexes().get(key) : null;
+
+        if (index == null) {
+            throw new DeviceNotFoundException(getName() + " with key: " + key + " can not be found");
+        }
+
+        return index;
+    }
+
+    /**
+     * @return the generation of the last enumeration, the devices are not enumerated
+     */
+    public long getGeneration() {
+
+        Devices<T> current = getDevices().get();
+
+        return current != null ? current.getGeneration() : 0L;
+    }
+
+    /**
+     * enumerates the devices if they are older than the given age
+     *
+     * @return a number that is incremented whenever the enumerated devices changed, without keys only a changed number
+     * of devices is noticed
+     */
+    public long getGeneration(long timeInMilliseconds, long maxAgeInMilliseconds) {
+
+        Devices<T> current = getCurrent(timeInMilliseconds, maxAgeInMilliseconds);
+
+        return current != null ? current.getGeneration() : 0L;
+    }
+
+    /**
+     * @return the first key of the device, it stays the same while the device moves to other indexes, or null if the
+     * device has no key
+     */
+    public String getKey(T device) {
+
+        if (getKeyFunction() == null) {
+            return null;
+        }
+
+        for (String key : getKeyFunction().apply(device)) {
+            if (key != null && !key.isEmpty()) {
+                return key;
+            }
+        }
+
+        return null;
+    }
+
+    private Devices<T> getCurrent(long timeInMilliseconds, long maxAgeInMilliseconds) {
+
+        Devices<T> current = getDevices().get();
+
+        if (isExpired(current, timeInMilliseconds, maxAgeInMilliseconds)) {
+
+            // without previous devices there is nothing to serve, so only then a thread waits for the enumeration
+            boolean locked = current == null ? lockInterruptibly() : getLock().tryLock();
+
+            if (locked) {
+                try {
+                    current = getDevices().get();
+                    if (isExpired(current, timeInMilliseconds, maxAgeInMilliseconds)) {
+                        current = load(current, timeInMilliseconds);
+                        getDevices().set(current);
+                    }
+                } finally {
+                    getLock().unlock();
+                }
+            }
+        }
+
+        return current;
+    }
+
+    private Devices<T> load(Devices<T> previous, long timeInMilliseconds) {
+
+        T[] devices = getLoader().get();
+        long generation = previous != null ? previous.getGeneration() : 0L;
+
+        if (getKeyFunction() == null || devices == null) {
+            int previousLength = previous != null && previous.getDevices() != null ? previous.getDevices().length : -1;
+            return new Devices<>(devices, timeInMilliseconds, null, null, (devices != null ? devices.length : -1) != previousLength ? generation + 1 : generation);
+        }
+
+        // keys are separated per device by a null element, so moving a key to another device changes the list
+        List<String> keys = new ArrayList<>();
+
+        for (T device : devices) {
+            for (String key : getKeyFunction().apply(device)) {
+                if (key != null && !key.isEmpty()) {
+                    keys.add(key);
+                }
+            }
+            keys.add(null);
+        }
+
+        if (previous != null && keys.equals(previous.getKeys())) {
+            return new Devices<>(devices, timeInMilliseconds, previous.getKeys(), previous.getIndexes(), generation);
+        }
+
+        Map<String, Integer> indexes = new HashMap<>();
+        int index = 0;
+
+        for (String key : keys) {
+            if (key == null) {
+                index++;
+            } else {
+                // the first device with a key wins, like the first device with an index
+                indexes.putIfAbsent(key, index);
+            }
+        }
+
+        return new Devices<>(devices, timeInMilliseconds, keys, Collections.unmodifiableMap(indexes), generation + 1);
+    }
+
+    private boolean lockInterruptibly() {
+
+        try {
+            getLock().lockInterruptibly();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
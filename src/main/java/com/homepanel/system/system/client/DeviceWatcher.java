@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches device directories like /sys/class/net for added and removed entries and notifies a listener per directory
+ * from its own thread.
+ */
+public class DeviceWatcher {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(DeviceWatcher.class);
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Runnable> listeners;
+    private final Thread thread;
+
+    public DeviceWatcher() throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.listeners = new ConcurrentHashMap<>();
+        this.thread = new Thread(this::run, "device-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private WatchService getWatchService() {
+        return watchService;
+    }
+
+    private Map<WatchKey, Runnable> getListeners() {
+        return listeners;
+    }
+
+    /**
+     * @return false if the directory can not be watched
+     */
+    public boolean watch(Path directory, Runnable listener) {
+
+        if (!Files.isDirectory(directory)) {
+            return false;
+        }
+
+        try {
+            getListeners().put(directory.register(getWatchService(), StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE), listener);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.warn("directory \"{}\" can not be watched", directory, e);
+            return false;
+        }
+    }
+
+    public void close() {
+        try {
+            getWatchService().close();
+        } catch (IOException e) {
+            LOGGER.warn("error while closing device watcher", e);
+        }
+    }
+
+    private void run() {
+
+        try {
+            while (true) {
+
+                WatchKey key = getWatchService().take();
+
+                // all events of a key are handled by one notification
+                key.pollEvents();
+
+                Runnable listener = getListeners().get(key);
+
+                if (listener != null) {
+                    listener.run();
+                }
+
+                if (!key.reset()) {
+                    getListeners().remove(key);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+}
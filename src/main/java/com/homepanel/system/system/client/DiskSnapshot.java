@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+public final class DiskSnapshot extends Snapshot {
+
+    private final long reads;
+    private final long readBytes;
+    private final long writes;
+    private final long writeBytes;
+    private final long queueLength;
+    private final long transferTimeInMilliseconds;
+    private final double readBytesPerSecond;
+    private final double writeBytesPerSecond;
+    private final double operationsPerSecond;
+    private final double busy;
+
+    /**
+     * computes the rates between the previous snapshot and the given counters, the rates are 0 for the first snapshot
+     * and after a counter was reset
+     *
+     * @param transferTimeInMilliseconds the time the drive spent doing I/O
+     */
+    public DiskSnapshot(long timeInMilliseconds, long reads, long readBytes, long writes, long writeBytes, long queueLength, long transferTimeInMilliseconds, DiskSnapshot previousSnapshot) {
+        super(timeInMilliseconds);
+        this.reads = reads;
+        this.readBytes = readBytes;
+        this.writes = writes;
+        this.writeBytes = writeBytes;
+        this.queueLength = queueLength;
+        this.transferTimeInMilliseconds = transferTimeInMilliseconds;
+
+        double seconds = previousSnapshot != null ? (getNanoTime() - previousSnapshot.getNanoTime()) / 1e9 : 0D;
+
+        if (seconds > 0) {
+            this.readBytesPerSecond = getRate(previousSnapshot.getReadBytes(), readBytes, seconds);
+            this.writeBytesPerSecond = getRate(previousSnapshot.getWriteBytes(), writeBytes, seconds);
+            this.operationsPerSecond = getRate(previousSnapshot.getReads() + previousSnapshot.getWrites(), reads + writes, seconds);
+            this.busy = Math.min(getRate(previousSnapshot.getTransferTimeInMilliseconds(), transferTimeInMilliseconds, seconds) / 1000D, 1D);
+        } else {
+            this.readBytesPerSecond = 0D;
+            this.writeBytesPerSecond = 0D;
+            this.operationsPerSecond = 0D;
+            this.busy = 0D;
+        }
+    }
+
+    public long getReads() {
+        return reads;
+    }
+
+    public long getReadBytes() {
+        return readBytes;
+    }
+
+    public long getWrites() {
+        return writes;
+    }
+
+    public long getWriteBytes() {
+        return writeBytes;
+    }
+
+    public long getQueueLength() {
+        return queueLength;
+    }
+
+    public long getTransferTimeInMilliseconds() {
+        return transferTimeInMilliseconds;
+    }
+
+    public double getReadBytesPerSecond() {
+        return readBytesPerSecond;
+    }
+
+    public double getWriteBytesPerSecond() {
+        return writeBytesPerSecond;
+    }
+
+    /**
+     * @return the completed read and write operations per second
+     */
+    public double getOperationsPerSecond() {
+        return operationsPerSecond;
+    }
+
+    /**
+     * @return the share of the time the drive spent doing I/O as decimal fraction
+     */
+    public double getBusy() {
+        return busy;
+    }
+
+    private static double getRate(long previousCounter, long counter, double seconds) {
+        return counter >= previousCounter ? (counter - previousCounter) / seconds : 0D;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+public class FileStoreSnapshot extends Snapshot {
+
+    private final long totalSpace;
+    private final long usableSpace;
+
+    public FileStoreSnapshot(long timeInMilliseconds, long totalSpace, long usableSpace) {
+        super(timeInMilliseconds);
+        this.totalSpace = totalSpace;
+        this.usableSpace = usableSpace;
+    }
+
+    public long getTotalSpace() {
+        return totalSpace;
+    }
+
+    public long getUsableSpace() {
+        return usableSpace;
+    }
+
+    public long getUsedSpace() {
+        return getTotalSpace() - getUsableSpace();
+    }
+}
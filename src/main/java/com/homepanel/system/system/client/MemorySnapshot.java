@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+public class MemorySnapshot extends Snapshot {
+
+    private final long total;
+    private final long available;
+
+    public MemorySnapshot(long timeInMilliseconds, long total, long available) {
+        super(timeInMilliseconds);
+        this.total = total;
+        this.available = available;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getAvailable() {
+        return available;
+    }
+
+    public long getUsed() {
+        return getTotal() - getAvailable();
+    }
+}
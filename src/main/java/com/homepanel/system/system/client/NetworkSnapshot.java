@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+public final class NetworkSnapshot extends Snapshot {
+
+    private final static long COUNTER_32_BIT_RANGE = 1L << 32;
+
+    private final long bytesReceived;
+    private final long bytesSent;
+    private final long packetsReceived;
+    private final long packetsSent;
+    private final double bytesReceivedPerSecond;
+    private final double bytesSentPerSecond;
+    private final double packetsReceivedPerSecond;
+    private final double packetsSentPerSecond;
+
+    /**
+     * computes the rates between the previous snapshot and the given counters, the rates are 0 for the first snapshot
+     */
+    public NetworkSnapshot(long timeInMilliseconds, long bytesReceived, long bytesSent, long packetsReceived, long packetsSent, NetworkSnapshot previousSnapshot) {
+        super(timeInMilliseconds);
+        this.bytesReceived = bytesReceived;
+        this.bytesSent = bytesSent;
+        this.packetsReceived = packetsReceived;
+        this.packetsSent = packetsSent;
+
+        double seconds = previousSnapshot != null ? (getNanoTime() - previousSnapshot.getNanoTime()) / 1e9 : 0D;
+
+        if (seconds > 0) {
+            this.bytesReceivedPerSecond = getRate(previousSnapshot.getBytesReceived(), bytesReceived, seconds, previousSnapshot.getBytesReceivedPerSecond());
+            this.bytesSentPerSecond = getRate(previousSnapshot.getBytesSent(), bytesSent, seconds, previousSnapshot.getBytesSentPerSecond());
+            this.packetsReceivedPerSecond = getRate(previousSnapshot.getPacketsReceived(), packetsReceived, seconds, previousSnapshot.getPacketsReceivedPerSecond());
+            this.packetsSentPerSecond = getRate(previousSnapshot.getPacketsSent(), packetsSent, seconds, previousSnapshot.getPacketsSentPerSecond());
+        } else {
+            this.bytesReceivedPerSecond = 0D;
+            this.bytesSentPerSecond = 0D;
+            this.packetsReceivedPerSecond = 0D;
+            this.packetsSentPerSecond = 0D;
+        }
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getPacketsReceived() {
+        return packetsReceived;
+    }
+
+    public long getPacketsSent() {
+        return packetsSent;
+    }
+
+    public double getBytesReceivedPerSecond() {
+        return bytesReceivedPerSecond;
+    }
+
+    public double getBytesSentPerSecond() {
+        return bytesSentPerSecond;
+    }
+
+    public double getPacketsReceivedPerSecond() {
+        return packetsReceivedPerSecond;
+    }
+
+    public double getPacketsSentPerSecond() {
+        return packetsSentPerSecond;
+    }
+
+    /**
+     * a counter lower than before either wrapped around at 32 bit or was reset together with its interface, a reset
+     * keeps the previous rate because the amount counted before the reset is unknown
+     */
+    static double getRate(long previousCounter, long counter, double seconds, double previousRate) {
+
+        long delta = counter - previousCounter;
+
+        if (delta < 0) {
+            long wrappedDelta = COUNTER_32_BIT_RANGE - previousCounter + counter;
+            if (previousCounter < COUNTER_32_BIT_RANGE && counter < COUNTER_32_BIT_RANGE && wrappedDelta < COUNTER_32_BIT_RANGE / 2) {
+                delta = wrappedDelta;
+            } else {
+                return previousRate;
+            }
+        }
+
+        return delta / seconds;
+    }
+}
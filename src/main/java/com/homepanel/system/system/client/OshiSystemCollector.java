@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.GlobalMemory;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.NetworkIF;
+import oshi.hardware.VirtualMemory;
+
+import java.util.function.Supplier;
+
+public class OshiSystemCollector implements SystemCollector {
+
+    private final Supplier<oshi.SystemInfo> systemInfo;
+
+    /**
+     * @param systemInfo supplies OSHI when it is used first
+     */
+    public OshiSystemCollector(Supplier<oshi.SystemInfo> systemInfo) {
+        this.systemInfo = systemInfo;
+    }
+
+    private oshi.SystemInfo getSystemInfo() {
+        return systemInfo.get();
+    }
+
+    private GlobalMemory getMemory() {
+        return getSystemInfo().getHardware().getMemory();
+    }
+
+    @Override
+    public MemorySnapshot sampleMemory(long timeInMilliseconds) {
+        return new MemorySnapshot(timeInMilliseconds, getMemory().getTotal(), getMemory().getAvailable());
+    }
+
+    @Override
+    public SwapSnapshot sampleSwap(long timeInMilliseconds) {
+        VirtualMemory virtualMemory = getMemory().getVirtualMemory();
+        return new SwapSnapshot(timeInMilliseconds, virtualMemory.getSwapTotal(), virtualMemory.getSwapUsed());
+    }
+
+    @Override
+    public CpuTicksSnapshot sampleCpuTicks(long timeInMilliseconds, CpuTicksSnapshot previousSnapshot) {
+
+        CentralProcessor processor = getSystemInfo().getHardware().getProcessor();
+
+        return new CpuTicksSnapshot(timeInMilliseconds, processor.getSystemCpuLoadTicks(), processor.getProcessorCpuLoadTicks(), previousSnapshot);
+    }
+
+    @Override
+    public double getLoadAverage(int index) {
+        return getSystemInfo().getHardware().getProcessor().getSystemLoadAverage(index + 1)[index];
+    }
+
+    @Override
+    public long getUptimeInSeconds() {
+        return getSystemInfo().getOperatingSystem().getSystemUptime();
+    }
+
+    @Override
+    public int getThreadCount() {
+        return getSystemInfo().getOperatingSystem().getThreadCount();
+    }
+
+    @Override
+    public DiskSnapshot sampleDisk(long timeInMilliseconds, HWDiskStore disk, DiskSnapshot previousSnapshot) {
+        synchronized (disk) {
+            disk.updateAtrributes();
+            return new DiskSnapshot(timeInMilliseconds, disk.getReads(), disk.getReadBytes(), disk.getWrites(), disk.getWriteBytes(), disk.getCurrentQueueLength(), disk.getTransferTime(), previousSnapshot);
+        }
+    }
+
+    @Override
+    public NetworkSnapshot sampleNetwork(long timeInMilliseconds, NetworkIF network, NetworkSnapshot previousSnapshot) {
+        synchronized (network) {
+            network.updateAttributes();
+            return new NetworkSnapshot(timeInMilliseconds, network.getBytesRecv(), network.getBytesSent(), network.getPacketsRecv(), network.getPacketsSent(), previousSnapshot);
+        }
+    }
+}
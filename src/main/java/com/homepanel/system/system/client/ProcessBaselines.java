@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+/**
+ * Keeps the cpu time of every sampled process from its previous sample, keyed by process id in an open addressing
+ * table of primitive arrays. A baseline is replaced if the process id was reused by a process with another start
+ * time, and baselines not updated for the given time are evicted. A baseline younger than the minimum window is kept,
+ * so a second sample within the same polling tick gets the usage of the previous window instead of a window of a few
+ * milliseconds.
+ */
+public class ProcessBaselines {
+
+    private final static int INITIAL_CAPACITY = 64;
+    private final static int FREE = 0;
+
+    private final long staleTimeInNanoseconds;
+    private final long minWindowInNanoseconds;
+    private int[] processIds;
+    private long[] startTimes;
+    private long[] cpuTimes;
+    private long[] nanoTimes;
+    private double[] cpuUsages;
+    private int size;
+    private long lastEvictionNanoTime;
+
+    public ProcessBaselines(long staleTimeInNanoseconds, long minWindowInNanoseconds) {
+        this.staleTimeInNanoseconds = staleTimeInNanoseconds;
+        this.minWindowInNanoseconds = minWindowInNanoseconds;
+        this.lastEvictionNanoTime = System.nanoTime();
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        processIds = new int[capacity];
+        startTimes = new long[capacity];
+        cpuTimes = new long[capacity];
+        nanoTimes = new long[capacity];
+        cpuUsages = new double[capacity];
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * stores the given sample as new baseline of the process
+     *
+     * @return the cpu usage as decimal fraction of one logical processor since the previous baseline or NaN if there
+     * is no baseline for this process yet
+     */
+    public synchronized double update(int processId, long startTime, long cpuTimeInMilliseconds, long nanoTime) {
+
+        evictStale(nanoTime);
+
+        int slot = find(processId);
+        double cpuUsage = Double.NaN;
+
+        if (slot >= 0) {
+            long elapsedTimeInNanoseconds = nanoTime - nanoTimes[slot];
+            if (startTimes[slot] == startTime && elapsedTimeInNanoseconds < minWindowInNanoseconds) {
+                return cpuUsages[slot];
+            }
+            if (startTimes[slot] == startTime && elapsedTimeInNanoseconds > 0 && cpuTimeInMilliseconds >= cpuTimes[slot]) {
+                cpuUsage = (cpuTimeInMilliseconds - cpuTimes[slot]) * 1_000_000D / elapsedTimeInNanoseconds;
+            }
+        } else {
+            if ((size + 1) * 4 > processIds.length * 3) {
+                resize(processIds.length * 2);
+            }
+            slot = -slot - 1;
+            processIds[slot] = processId;
+            size++;
+        }
+
+        startTimes[slot] = startTime;
+        cpuTimes[slot] = cpuTimeInMilliseconds;
+        nanoTimes[slot] = nanoTime;
+        cpuUsages[slot] = cpuUsage;
+
+        return cpuUsage;
+    }
+
+    public synchronized void remove(int processId) {
+
+        int slot = find(processId);
+
+        if (slot >= 0) {
+            delete(slot);
+        }
+    }
+
+    /**
+     * @return the slot of the process id or, if it is not contained, -(free slot) - 1
+     */
+    private int find(int processId) {
+
+        int mask = processIds.length - 1;
+        int slot = hash(processId) & mask;
+
+        while (processIds[slot] != FREE) {
+            if (processIds[slot] == processId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -slot - 1;
+    }
+
+    private void delete(int slot) {
+
+        int mask = processIds.length - 1;
+        int free = slot;
+        int next = (slot + 1) & mask;
+
+        // shift back following entries of the same probe sequence, so lookups never stop at the freed slot
+        while (processIds[next] != FREE) {
+            int home = hash(processIds[next]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                processIds[free] = processIds[next];
+                startTimes[free] = startTimes[next];
+                cpuTimes[free] = cpuTimes[next];
+                nanoTimes[free] = nanoTimes[next];
+                cpuUsages[free] = cpuUsages[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        processIds[free] = FREE;
+        size--;
+    }
+
+    private void resize(int capacity) {
+
+        int[] oldProcessIds = processIds;
+        long[] oldStartTimes = startTimes;
+        long[] oldCpuTimes = cpuTimes;
+        long[] oldNanoTimes = nanoTimes;
+        double[] oldCpuUsages = cpuUsages;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldProcessIds.length; i++) {
+            if (oldProcessIds[i] != FREE) {
+                int slot = -find(oldProcessIds[i]) - 1;
+                processIds[slot] = oldProcessIds[i];
+                startTimes[slot] = oldStartTimes[i];
+                cpuTimes[slot] = oldCpuTimes[i];
+                nanoTimes[slot] = oldNanoTimes[i];
+                cpuUsages[slot] = oldCpuUsages[i];
+                size++;
+            }
+        }
+    }
+
+    private void evictStale(long nanoTime) {
+
+        if (nanoTime - lastEvictionNanoTime < staleTimeInNanoseconds) {
+            return;
+        }
+
+        lastEvictionNanoTime = nanoTime;
+
+        int slot = 0;
+        while (slot < processIds.length) {
+            // a deletion may shift a later entry into this slot, so the slot is only advanced if nothing was deleted
+            if (processIds[slot] != FREE && nanoTime - nanoTimes[slot] > staleTimeInNanoseconds) {
+                delete(slot);
+            } else {
+                slot++;
+            }
+        }
+
+        if (size * 8 < processIds.length && processIds.length > INITIAL_CAPACITY) {
+            resize(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, size)) * 4));
+        }
+    }
+
+    private static int hash(int processId) {
+        int hash = processId * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+/**
+ * Aggregates all processes matching a process matcher, name and path are taken from the process with the lowest id.
+ */
+public class ProcessGroupSnapshot extends Snapshot {
+
+    private final int count;
+    private final String name;
+    private final String path;
+    private final double cpuUsage;
+    private final long residentSetSize;
+    private final int threadCount;
+
+    public ProcessGroupSnapshot(long timeInMilliseconds, int count, String name, String path, double cpuUsage, long residentSetSize, int threadCount) {
+        super(timeInMilliseconds);
+        this.count = count;
+        this.name = name;
+        this.path = path;
+        this.cpuUsage = cpuUsage;
+        this.residentSetSize = residentSetSize;
+        this.threadCount = threadCount;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the summed cpu usage of all processes as decimal fraction of one logical processor
+     */
+    public double getCpuUsage() {
+        return cpuUsage;
+    }
+
+    public long getResidentSetSize() {
+        return residentSetSize;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+}
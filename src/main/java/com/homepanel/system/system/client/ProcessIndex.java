@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Resolves process matchers to the ids of the running processes. On Linux the index is updated incrementally by
+ * comparing the process directories of the procfs with the known processes, so only processes started since the last
+ * update are read. Known processes are read again on a slow cadence, so a process replacing its image by exec is
+ * matched by its new name. On other platforms all processes are read from OSHI on every update.
+ */
+public class ProcessIndex {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(ProcessIndex.class);
+
+    private final static int[] NO_PROCESS_IDS = new int[0];
+    private final static long PROCESS_READ_INTERVAL_IN_MILLISECONDS = TimeUnit.SECONDS.toMillis(30);
+
+    private static class Process {
+
+        private final String name;
+        private final String commandLine;
+        private final long timeInMilliseconds;
+
+        private Process(String name, String commandLine, long timeInMilliseconds) {
+            this.name = name;
+            this.commandLine = commandLine;
+            this.timeInMilliseconds = timeInMilliseconds;
+        }
+
+        private String getName() {
+            return name;
+        }
+
+        private String getCommandLine() {
+            return commandLine;
+        }
+
+        private long getTimeInMilliseconds() {
+            return timeInMilliseconds;
+        }
+
+        private boolean isSameImage(Process process) {
+            return getName().equals(process.getName()) && getCommandLine().equals(process.getCommandLine());
+        }
+    }
+
+    private final File procDirectory;
+    private final OperatingSystem operatingSystem;
+    private final long maxAgeInMilliseconds;
+    private final IntConsumer exitListener;
+    private final Map<Integer, Process> processes;
+    private final Map<ProcessMatcher, Set<Integer>> processIdsByMatcher;
+    private long timeInMilliseconds;
+    private boolean updated;
+
+    /**
+     * @param exitListener is called with the id of every process that exited since the previous update
+     */
+    public ProcessIndex(Path collectorRootPath, OperatingSystem operatingSystem, long maxAgeInMilliseconds, IntConsumer exitListener) {
+        this.procDirectory = collectorRootPath.resolve("proc").toFile();
+        this.operatingSystem = operatingSystem;
+        this.maxAgeInMilliseconds = maxAgeInMilliseconds;
+        this.exitListener = exitListener;
+        this.processes = new HashMap<>();
+        this.processIdsByMatcher = new HashMap<>();
+    }
+
+    private File getProcDirectory() {
+        return procDirectory;
+    }
+
+    private OperatingSystem getOperatingSystem() {
+        return operatingSystem;
+    }
+
+    private IntConsumer getExitListener() {
+        return exitListener;
+    }
+
+    private Map<Integer, Process> getProcesses() {
+        return processes;
+    }
+
+    private Map<ProcessMatcher, Set<Integer>> getProcessIdsByMatcher() {
+        return processIdsByMatcher;
+    }
+
+    /**
+     * @return the ids of all processes currently matching, updating the index if it was not updated within the same
+     * polling tick
+     */
+    public synchronized int[] getProcessIds(ProcessMatcher processMatcher, long timeInMilliseconds) {
+
+        if (!updated || Math.abs(timeInMilliseconds - this.timeInMilliseconds) >= maxAgeInMilliseconds) {
+            update(timeInMilliseconds);
+            this.timeInMilliseconds = timeInMilliseconds;
+            updated = true;
+        }
+
+        Set<Integer> processIds = getProcessIdsByMatcher().get(processMatcher);
+
+        if (processIds == null) {
+            processIds = new HashSet<>();
+            for (Map.Entry<Integer, Process> process : getProcesses().entrySet()) {
+                if (processMatcher.matches(process.getValue().getName(), process.getValue().getCommandLine())) {
+                    processIds.add(process.getKey());
+                }
+            }
+            getProcessIdsByMatcher().put(processMatcher, processIds);
+        }
+
+        if (processIds.isEmpty()) {
+            return NO_PROCESS_IDS;
+        }
+
+        int[] result = new int[processIds.size()];
+        int i = 0;
+        for (Integer processId : processIds) {
+            result[i++] = processId;
+        }
+
+        return result;
+    }
+
+    private void update(long timeInMilliseconds) {
+
+        String[] directoryNames = getProcDirectory().list();
+
+        if (directoryNames != null) {
+            updateFromProcfs(directoryNames, timeInMilliseconds);
+        } else {
+            updateFromOperatingSystem(timeInMilliseconds);
+        }
+    }
+
+    private void updateFromProcfs(String[] directoryNames, long timeInMilliseconds) {
+
+        Set<Integer> processIds = new HashSet<>(directoryNames.length * 2);
+
+        for (String directoryName : directoryNames) {
+            int processId = parseProcessId(directoryName);
+            if (processId > 0) {
+                processIds.add(processId);
+                Process knownProcess = getProcesses().get(processId);
+                if (knownProcess == null || Math.abs(timeInMilliseconds - knownProcess.getTimeInMilliseconds()) >= PROCESS_READ_INTERVAL_IN_MILLISECONDS) {
+                    Process process = readProcess(processId, timeInMilliseconds);
+                    if (process != null) {
+                        put(processId, knownProcess, process);
+                    }
+                }
+            }
+        }
+
+        removeAllExcept(processIds);
+    }
+
+    private void updateFromOperatingSystem(long timeInMilliseconds) {
+
+        Set<Integer> processIds = new HashSet<>();
+
+        for (OSProcess osProcess : getOperatingSystem().getProcesses()) {
+            processIds.add(osProcess.getProcessID());
+            put(osProcess.getProcessID(), getProcesses().get(osProcess.getProcessID()), new Process(osProcess.getName(), osProcess.getCommandLine() != null ? osProcess.getCommandLine() : "", timeInMilliseconds));
+        }
+
+        removeAllExcept(processIds);
+    }
+
+    private void put(int processId, Process knownProcess, Process process) {
+
+        if (knownProcess == null) {
+            add(processId, process);
+        } else if (knownProcess.isSameImage(process)) {
+            getProcesses().put(processId, process);
+        } else {
+            // the process replaced its image, so it is matched again by its new name and command line
+            for (Set<Integer> matchingProcessIds : getProcessIdsByMatcher().values()) {
+                matchingProcessIds.remove(processId);
+            }
+            add(processId, process);
+        }
+    }
+
+    private void add(int processId, Process process) {
+
+        getProcesses().put(processId, process);
+
+        for (Map.Entry<ProcessMatcher, Set<Integer>> processIds : getProcessIdsByMatcher().entrySet()) {
+            if (processIds.getKey().matches(process.getName(), process.getCommandLine())) {
+                processIds.getValue().add(processId);
+            }
+        }
+    }
+
+    private void removeAllExcept(Set<Integer> processIds) {
+
+        Iterator<Integer> iterator = getProcesses().keySet().iterator();
+
+        while (iterator.hasNext()) {
+            Integer processId = iterator.next();
+            if (!processIds.contains(processId)) {
+                iterator.remove();
+                for (Set<Integer> matchingProcessIds : getProcessIdsByMatcher().values()) {
+                    matchingProcessIds.remove(processId);
+                }
+                getExitListener().accept(processId);
+            }
+        }
+    }
+
+    private Process readProcess(int processId, long timeInMilliseconds) {
+
+        Path directory = getProcDirectory().toPath().resolve(Integer.toString(processId));
+
+        try {
+            String name = new String(Files.readAllBytes(directory.resolve("comm")), StandardCharsets.UTF_8).trim();
+            byte[] commandLine = Files.readAllBytes(directory.resolve("cmdline"));
+
+            // arguments are separated by NUL characters
+            int length = commandLine.length;
+            while (length > 0 && commandLine[length - 1] == 0) {
+                length--;
+            }
+            for (int i = 0; i < length; i++) {
+                if (commandLine[i] == 0) {
+                    commandLine[i] = ' ';
+                }
+            }
+
+            return new Process(name, new String(commandLine, 0, length, StandardCharsets.UTF_8), timeInMilliseconds);
+        } catch (IOException e) {
+            // the process exited since the directory was listed
+            LOGGER.debug("process with PID {} can not be read", processId, e);
+            return null;
+        }
+    }
+
+    private static int parseProcessId(String directoryName) {
+
+        int processId = 0;
+
+        for (int i = 0; i < directoryName.length(); i++) {
+            char character = directoryName.charAt(i);
+            if (character < '0' || character > '9') {
+                return 0;
+            }
+            processId = processId * 10 + (character - '0');
+        }
+
+        return processId;
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Selects processes either by a fixed process id, by name or by a pattern found in the command line.
+ */
+public class ProcessMatcher {
+
+    private final int processId;
+    private final String name;
+    private final Pattern pattern;
+
+    private ProcessMatcher(int processId, String name, Pattern pattern) {
+        this.processId = processId;
+        this.name = name;
+        this.pattern = pattern;
+    }
+
+    public static ProcessMatcher ofProcessId(int processId) {
+        return new ProcessMatcher(processId, null, null);
+    }
+
+    public static ProcessMatcher ofName(String name) {
+        return new ProcessMatcher(0, name, null);
+    }
+
+    public static ProcessMatcher ofPattern(String pattern) {
+        return new ProcessMatcher(0, null, Pattern.compile(pattern));
+    }
+
+    public int getProcessId() {
+        return processId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public boolean isProcessId() {
+        return processId > 0;
+    }
+
+    /**
+     * @param name the name of the process as reported by the kernel, it may be truncated
+     * @param commandLine the command line with arguments separated by spaces, empty for kernel threads
+     */
+    public boolean matches(String name, String commandLine) {
+
+        if (getName() != null) {
+            return getName().equals(name) || getName().equals(getExecutableName(commandLine));
+        }
+
+        if (getPattern() != null) {
+            return getPattern().matcher(commandLine.isEmpty() ? name : commandLine).find();
+        }
+
+        return false;
+    }
+
+    private static String getExecutableName(String commandLine) {
+
+        int end = commandLine.indexOf(' ');
+        String executable = end >= 0 ? commandLine.substring(0, end) : commandLine;
+
+        return executable.substring(executable.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+
+        if (this == object) {
+            return true;
+        }
+
+        if (!(object instanceof ProcessMatcher)) {
+            return false;
+        }
+
+        ProcessMatcher processMatcher = (ProcessMatcher) object;
+
+        return getProcessId() == processMatcher.getProcessId() && Objects.equals(getName(), processMatcher.getName()) && Objects.equals(getPattern() != null ? getPattern().pattern() : null, processMatcher.getPattern() != null ? processMatcher.getPattern().pattern() : null);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getProcessId(), getName(), getPattern() != null ? getPattern().pattern() : null);
+    }
+
+    @Override
+    public String toString() {
+
+        if (getName() != null) {
+            return "name " + getName();
+        }
+
+        if (getPattern() != null) {
+            return "pattern " + getPattern().pattern();
+        }
+
+        return "PID " + getProcessId();
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+public class ProcessSnapshot extends Snapshot {
+
+    private final int processId;
+    private final String name;
+    private final String path;
+    private final double cpuUsage;
+    private final long residentSetSize;
+    private final int threadCount;
+
+    public ProcessSnapshot(long timeInMilliseconds, int processId, String name, String path, double cpuUsage, long residentSetSize, int threadCount) {
+        super(timeInMilliseconds);
+        this.processId = processId;
+        this.name = name;
+        this.path = path;
+        this.cpuUsage = cpuUsage;
+        this.residentSetSize = residentSetSize;
+        this.threadCount = threadCount;
+    }
+
+    public int getProcessId() {
+        return processId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the cpu usage as decimal fraction of one logical processor since the previous snapshot of the process
+     */
+    public double getCpuUsage() {
+        return cpuUsage;
+    }
+
+    public long getResidentSetSize() {
+        return residentSetSize;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+/**
+ * All processes of one scan of the process table, stored column wise in primitive arrays.
+ */
+public class ProcessTableSnapshot extends Snapshot {
+
+    private final int size;
+    private final int[] processIds;
+    private final String[] names;
+    private final double[] cpuUsages;
+    private final long[] residentSetSizes;
+
+    public ProcessTableSnapshot(long timeInMilliseconds, int size, int[] processIds, String[] names, double[] cpuUsages, long[] residentSetSizes) {
+        super(timeInMilliseconds);
+        this.size = size;
+        this.processIds = processIds;
+        this.names = names;
+        this.cpuUsages = cpuUsages;
+        this.residentSetSizes = residentSetSizes;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getProcessId(int index) {
+        return processIds[index];
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * @return the cpu usage as decimal fraction of one logical processor since the previous sample of the process
+     */
+    public double getCpuUsage(int index) {
+        return cpuUsages[index];
+    }
+
+    public long getResidentSetSize(int index) {
+        return residentSetSizes[index];
+    }
+}
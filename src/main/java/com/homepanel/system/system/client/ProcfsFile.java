@@ -0,0 +1,268 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+/**
+ * Keeps a procfs or sysfs file open and reads it into a reusable buffer, the content is parsed in place so reading
+ * and parsing does not allocate once the buffer has grown to the size of the file.
+ */
+class ProcfsFile {
+
+    private final static int INITIAL_BUFFER_SIZE = 4096;
+
+    private final Path path;
+    private volatile boolean available;
+    private RandomAccessFile file;
+    private byte[] buffer;
+    private int length;
+    private int position;
+
+    ProcfsFile(Path path) {
+        this.path = path;
+        this.available = path.toFile().canRead();
+        this.buffer = new byte[INITIAL_BUFFER_SIZE];
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    boolean isAvailable() {
+        return available;
+    }
+
+    void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    /**
+     * reads the whole file into the buffer and positions the parser at its beginning
+     */
+    void read() throws IOException {
+
+        if (file == null) {
+            file = new RandomAccessFile(getPath().toFile(), "r");
+        }
+
+        try {
+            file.seek(0);
+            length = 0;
+            int count;
+            while ((count = file.read(buffer, length, buffer.length - length)) > 0) {
+                length += count;
+                if (length == buffer.length) {
+                    byte[] newBuffer = new byte[buffer.length * 2];
+                    System.arraycopy(buffer, 0, newBuffer, 0, length);
+                    buffer = newBuffer;
+                }
+            }
+            position = 0;
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    void close() {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // ignore, the file is reopened on the next read
+            }
+            file = null;
+        }
+    }
+
+    void rewind() {
+        position = 0;
+    }
+
+    boolean hasRemaining() {
+        return position < length;
+    }
+
+    /**
+     * moves the parser behind the next line starting with the given prefix, searching from the current position
+     *
+     * @return false if no such line is left
+     */
+    boolean findLine(String prefix) {
+
+        while (position < length) {
+            if (startsWith(prefix)) {
+                position += prefix.length();
+                return true;
+            }
+            nextLine();
+        }
+
+        return false;
+    }
+
+    /**
+     * moves the parser behind the first field of the next line whose first field, ignoring leading spaces, equals the
+     * given name followed by the separator
+     *
+     * @return false if no such line is left
+     */
+    boolean findField(String name, char separator) {
+
+        while (position < length) {
+            skipSpaces();
+            if (startsWith(name) && position + name.length() < length && buffer[position + name.length()] == separator) {
+                position += name.length() + 1;
+                return true;
+            }
+            nextLine();
+        }
+
+        return false;
+    }
+
+    /**
+     * moves the parser behind the given prefix if the current position starts with it
+     *
+     * @return false if the current position does not start with the prefix
+     */
+    boolean skipPrefix(String prefix) {
+
+        if (startsWith(prefix)) {
+            position += prefix.length();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * moves the parser behind the next field if it equals the given value
+     *
+     * @return false if the next field does not equal the value
+     */
+    boolean nextFieldEquals(String value) {
+
+        skipSpaces();
+
+        if (startsWith(value) && (position + value.length() == length || isSpace(buffer[position + value.length()]))) {
+            position += value.length();
+            return true;
+        }
+
+        return false;
+    }
+
+    void nextLine() {
+        while (position < length && buffer[position] != '\n') {
+            position++;
+        }
+        if (position < length) {
+            position++;
+        }
+    }
+
+    void skipFields(int count) {
+        for (int i = 0; i < count; i++) {
+            skipSpaces();
+            while (position < length && !isSpace(buffer[position])) {
+                position++;
+            }
+        }
+    }
+
+    void skip(char character) {
+        while (position < length && buffer[position] != character && buffer[position] != '\n') {
+            position++;
+        }
+        if (position < length && buffer[position] == character) {
+            position++;
+        }
+    }
+
+    /**
+     * @return the next unsigned integer field or -1 if the next field is not a number
+     */
+    long nextLong() {
+
+        skipSpaces();
+
+        if (position >= length || !isDigit(buffer[position])) {
+            return -1;
+        }
+
+        long value = 0;
+        while (position < length && isDigit(buffer[position])) {
+            value = value * 10 + (buffer[position++] - '0');
+        }
+
+        return value;
+    }
+
+    /**
+     * @return the next unsigned decimal field or -1 if the next field is not a number
+     */
+    double nextDouble() {
+
+        long integer = nextLong();
+
+        if (integer < 0) {
+            return -1;
+        }
+
+        double value = integer;
+
+        if (position < length && buffer[position] == '.') {
+            position++;
+            double divisor = 10;
+            while (position < length && isDigit(buffer[position])) {
+                value += (buffer[position++] - '0') / divisor;
+                divisor *= 10;
+            }
+        }
+
+        return value;
+    }
+
+    private boolean startsWith(String prefix) {
+
+        if (position + prefix.length() > length) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer[position + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void skipSpaces() {
+        while (position < length && (buffer[position] == ' ' || buffer[position] == '\t')) {
+            position++;
+        }
+    }
+
+    private static boolean isSpace(byte value) {
+        return value == ' ' || value == '\t' || value == '\n';
+    }
+
+    private static boolean isDigit(byte value) {
+        return value >= '0' && value <= '9';
+    }
+}
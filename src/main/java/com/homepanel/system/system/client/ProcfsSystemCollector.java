@@ -0,0 +1,400 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.NetworkIF;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Reads memory, swap, cpu, drive and network values directly from the Linux procfs. Every file falls back to the given
+ * collector if it does not exist or can not be parsed.
+ */
+public class ProcfsSystemCollector implements SystemCollector {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(ProcfsSystemCollector.class);
+
+    private final static long KILOBYTE = 1024L;
+    // /proc/diskstats counts sectors of 512 bytes regardless of the sector size of the drive
+    private final static long SECTOR_SIZE = 512L;
+
+    private final SystemCollector fallbackCollector;
+    private final ProcfsFile meminfo;
+    private final ProcfsFile stat;
+    private final ProcfsFile loadavg;
+    private final ProcfsFile uptime;
+    private final ProcfsFile netDev;
+    private final ProcfsFile diskstats;
+    // two sets of tick buffers used in turns, so the previous snapshot keeps its ticks while the next one is parsed
+    private final long[][] ticksBuffers;
+    private final long[][][] processorTicksBuffers;
+
+    public ProcfsSystemCollector(Path rootPath, SystemCollector fallbackCollector) {
+        this.fallbackCollector = fallbackCollector;
+        this.meminfo = createFile(rootPath, "proc/meminfo");
+        this.stat = createFile(rootPath, "proc/stat");
+        this.loadavg = createFile(rootPath, "proc/loadavg");
+        this.uptime = createFile(rootPath, "proc/uptime");
+        this.netDev = createFile(rootPath, "proc/net/dev");
+        this.diskstats = createFile(rootPath, "proc/diskstats");
+        this.ticksBuffers = new long[2][CentralProcessor.TickType.values().length];
+        this.processorTicksBuffers = new long[2][0][];
+    }
+
+    private SystemCollector getFallbackCollector() {
+        return fallbackCollector;
+    }
+
+    private ProcfsFile getMeminfo() {
+        return meminfo;
+    }
+
+    private ProcfsFile getStat() {
+        return stat;
+    }
+
+    private ProcfsFile getLoadavg() {
+        return loadavg;
+    }
+
+    private ProcfsFile getUptime() {
+        return uptime;
+    }
+
+    private ProcfsFile getNetDev() {
+        return netDev;
+    }
+
+    private ProcfsFile getDiskstats() {
+        return diskstats;
+    }
+
+    private long[][] getTicksBuffers() {
+        return ticksBuffers;
+    }
+
+    private long[][][] getProcessorTicksBuffers() {
+        return processorTicksBuffers;
+    }
+
+    private static ProcfsFile createFile(Path rootPath, String name) {
+
+        ProcfsFile file = new ProcfsFile(rootPath.resolve(name));
+
+        if (!file.isAvailable()) {
+            LOGGER.warn("file \"{}\" can not be read, falling back to OSHI", file.getPath());
+        }
+
+        return file;
+    }
+
+    private static boolean read(ProcfsFile file) {
+
+        if (!file.isAvailable()) {
+            return false;
+        }
+
+        try {
+            file.read();
+            return true;
+        } catch (IOException e) {
+            file.setAvailable(false);
+            LOGGER.warn("error while reading file \"{}\", falling back to OSHI", file.getPath(), e);
+            return false;
+        }
+    }
+
+    private static void parseError(ProcfsFile file) {
+        file.setAvailable(false);
+        LOGGER.warn("file \"{}\" can not be parsed, falling back to OSHI", file.getPath());
+    }
+
+    private static long getMeminfoValue(ProcfsFile file, String name) {
+
+        file.rewind();
+
+        if (file.findLine(name)) {
+            long value = file.nextLong();
+            return value >= 0 ? value * KILOBYTE : -1;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public MemorySnapshot sampleMemory(long timeInMilliseconds) {
+
+        ProcfsFile file = getMeminfo();
+
+        synchronized (file) {
+            if (read(file)) {
+
+                long total = getMeminfoValue(file, "MemTotal:");
+                long available = getMeminfoValue(file, "MemAvailable:");
+
+                if (available < 0) {
+                    // kernels before 3.14 do not provide an estimation of the available memory
+                    long free = getMeminfoValue(file, "MemFree:");
+                    long buffers = getMeminfoValue(file, "Buffers:");
+                    long cached = getMeminfoValue(file, "Cached:");
+                    available = free >= 0 && buffers >= 0 && cached >= 0 ? free + buffers + cached : -1;
+                }
+
+                if (total >= 0 && available >= 0) {
+                    return new MemorySnapshot(timeInMilliseconds, total, available);
+                }
+
+                parseError(file);
+            }
+        }
+
+        return getFallbackCollector().sampleMemory(timeInMilliseconds);
+    }
+
+    @Override
+    public SwapSnapshot sampleSwap(long timeInMilliseconds) {
+
+        ProcfsFile file = getMeminfo();
+
+        synchronized (file) {
+            if (read(file)) {
+
+                long total = getMeminfoValue(file, "SwapTotal:");
+                long free = getMeminfoValue(file, "SwapFree:");
+
+                if (total >= 0 && free >= 0) {
+                    return new SwapSnapshot(timeInMilliseconds, total, total - free);
+                }
+
+                parseError(file);
+            }
+        }
+
+        return getFallbackCollector().sampleSwap(timeInMilliseconds);
+    }
+
+    @Override
+    public CpuTicksSnapshot sampleCpuTicks(long timeInMilliseconds, CpuTicksSnapshot previousSnapshot) {
+
+        ProcfsFile file = getStat();
+
+        synchronized (file) {
+            if (read(file) && file.findLine("cpu ")) {
+
+                // the buffers are only reused after the next snapshot was sampled, which replaces the previous
+                // snapshot in its cache and in the cpu load baselines
+                int buffer = previousSnapshot != null && previousSnapshot.getTicks() == getTicksBuffers()[0] ? 1 : 0;
+                long[] ticks = getTicksBuffers()[buffer];
+                long[][] processorTicks = getProcessorTicksBuffers()[buffer];
+                boolean parsed = nextCpuTicks(file, ticks);
+                int processorCount = 0;
+
+                // the lines of the logical processors follow the line of all processors
+                file.nextLine();
+                while (parsed && file.skipPrefix("cpu")) {
+                    file.skipFields(1);
+                    if (processorCount == processorTicks.length) {
+                        processorTicks = Arrays.copyOf(processorTicks, processorCount + 1);
+                        processorTicks[processorCount] = new long[ticks.length];
+                    }
+                    parsed = nextCpuTicks(file, processorTicks[processorCount++]);
+                    file.nextLine();
+                }
+
+                // the buffers are only resized if the number of logical processors changed
+                if (parsed && processorCount != processorTicks.length) {
+                    processorTicks = Arrays.copyOf(processorTicks, processorCount);
+                }
+
+                getProcessorTicksBuffers()[buffer] = processorTicks;
+
+                if (parsed) {
+                    return new CpuTicksSnapshot(timeInMilliseconds, ticks, processorTicks, previousSnapshot);
+                }
+            }
+
+            if (file.isAvailable()) {
+                parseError(file);
+            }
+        }
+
+        return getFallbackCollector().sampleCpuTicks(timeInMilliseconds, previousSnapshot);
+    }
+
+    /**
+     * reads the ticks of the current line into the given array, the tick types are in the same order as in /proc/stat
+     *
+     * @return false if the ticks can not be parsed
+     */
+    private static boolean nextCpuTicks(ProcfsFile file, long[] ticks) {
+
+        for (int i = 0; i < ticks.length; i++) {
+            ticks[i] = file.nextLong();
+            if (ticks[i] < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public double getLoadAverage(int index) {
+
+        ProcfsFile file = getLoadavg();
+
+        synchronized (file) {
+            if (read(file)) {
+
+                file.skipFields(index);
+                double loadAverage = file.nextDouble();
+
+                if (loadAverage >= 0) {
+                    return loadAverage;
+                }
+
+                parseError(file);
+            }
+        }
+
+        return getFallbackCollector().getLoadAverage(index);
+    }
+
+    @Override
+    public long getUptimeInSeconds() {
+
+        ProcfsFile file = getUptime();
+
+        synchronized (file) {
+            if (read(file)) {
+
+                double uptime = file.nextDouble();
+
+                if (uptime >= 0) {
+                    return (long) uptime;
+                }
+
+                parseError(file);
+            }
+        }
+
+        return getFallbackCollector().getUptimeInSeconds();
+    }
+
+    @Override
+    public int getThreadCount() {
+
+        ProcfsFile file = getLoadavg();
+
+        synchronized (file) {
+            if (read(file)) {
+
+                // the fourth field contains the number of runnable and the number of existing scheduling entities
+                file.skipFields(3);
+                file.skip('/');
+                long threads = file.nextLong();
+
+                if (threads >= 0) {
+                    return (int) threads;
+                }
+
+                parseError(file);
+            }
+        }
+
+        return getFallbackCollector().getThreadCount();
+    }
+
+    @Override
+    public DiskSnapshot sampleDisk(long timeInMilliseconds, HWDiskStore disk, DiskSnapshot previousSnapshot) {
+
+        ProcfsFile file = getDiskstats();
+
+        // OSHI names drives by their device node
+        String name = disk.getName().substring(disk.getName().lastIndexOf('/') + 1);
+
+        synchronized (file) {
+            if (read(file)) {
+
+                while (file.hasRemaining()) {
+
+                    // major and minor device number precede the name
+                    file.skipFields(2);
+
+                    if (file.nextFieldEquals(name)) {
+
+                        long reads = file.nextLong();
+                        file.skipFields(1);
+                        long sectorsRead = file.nextLong();
+                        file.skipFields(1);
+                        long writes = file.nextLong();
+                        file.skipFields(1);
+                        long sectorsWritten = file.nextLong();
+                        file.skipFields(1);
+                        long queueLength = file.nextLong();
+                        long transferTime = file.nextLong();
+
+                        if (reads >= 0 && sectorsRead >= 0 && writes >= 0 && sectorsWritten >= 0 && queueLength >= 0 && transferTime >= 0) {
+                            return new DiskSnapshot(timeInMilliseconds, reads, sectorsRead * SECTOR_SIZE, writes, sectorsWritten * SECTOR_SIZE, queueLength, transferTime, previousSnapshot);
+                        }
+
+                        parseError(file);
+                        break;
+                    }
+
+                    file.nextLine();
+                }
+            }
+        }
+
+        return getFallbackCollector().sampleDisk(timeInMilliseconds, disk, previousSnapshot);
+    }
+
+    @Override
+    public NetworkSnapshot sampleNetwork(long timeInMilliseconds, NetworkIF network, NetworkSnapshot previousSnapshot) {
+
+        ProcfsFile file = getNetDev();
+
+        synchronized (file) {
+            if (read(file)) {
+
+                // the first two lines are headers
+                file.nextLine();
+                file.nextLine();
+
+                if (file.findField(network.getName(), ':')) {
+
+                    long bytesReceived = file.nextLong();
+                    long packetsReceived = file.nextLong();
+                    file.skipFields(6);
+                    long bytesSent = file.nextLong();
+                    long packetsSent = file.nextLong();
+
+                    if (bytesReceived >= 0 && packetsReceived >= 0 && bytesSent >= 0 && packetsSent >= 0) {
+                        return new NetworkSnapshot(timeInMilliseconds, bytesReceived, bytesSent, packetsReceived, packetsSent, previousSnapshot);
+                    }
+
+                    parseError(file);
+                }
+            }
+        }
+
+        return getFallbackCollector().sampleNetwork(timeInMilliseconds, network, previousSnapshot);
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+public class SensorsSnapshot extends Snapshot {
+
+    private final double cpuTemperature;
+    private final double cpuVoltage;
+    private final int[] fanSpeeds;
+
+    public SensorsSnapshot(long timeInMilliseconds, double cpuTemperature, double cpuVoltage, int[] fanSpeeds) {
+        super(timeInMilliseconds);
+        this.cpuTemperature = cpuTemperature;
+        this.cpuVoltage = cpuVoltage;
+        this.fanSpeeds = fanSpeeds;
+    }
+
+    public double getCpuTemperature() {
+        return cpuTemperature;
+    }
+
+    public double getCpuVoltage() {
+        return cpuVoltage;
+    }
+
+    public int[] getFanSpeeds() {
+        return fanSpeeds;
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+public abstract class Snapshot {
+
+    private final long timeInMilliseconds;
+    private final long nanoTime;
+
+    protected Snapshot(long timeInMilliseconds) {
+        this.timeInMilliseconds = timeInMilliseconds;
+        this.nanoTime = System.nanoTime();
+    }
+
+    public long getTimeInMilliseconds() {
+        return timeInMilliseconds;
+    }
+
+    public long getNanoTime() {
+        return nanoTime;
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+/**
+ * Holds the latest snapshot of one group and samples a new one only if the cached snapshot was not taken for the
+ * same polling tick, so every channel of a group polled within one tick is served from the same values.
+ */
+public class SnapshotCache<T extends Snapshot> {
+
+    public interface Sampler<T extends Snapshot, E extends Exception> {
+        T sample(long timeInMilliseconds, T previousSnapshot) throws E;
+    }
+
+    private final long maxAgeInMilliseconds;
+    private volatile T snapshot;
+
+    public SnapshotCache(long maxAgeInMilliseconds) {
+        this.maxAgeInMilliseconds = maxAgeInMilliseconds;
+    }
+
+    private long getMaxAgeInMilliseconds() {
+        return maxAgeInMilliseconds;
+    }
+
+    public T getSnapshot() {
+        return snapshot;
+    }
+
+    private void setSnapshot(T snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    private boolean isValid(T snapshot, long timeInMilliseconds) {
+        return snapshot != null && Math.abs(timeInMilliseconds - snapshot.getTimeInMilliseconds()) < getMaxAgeInMilliseconds();
+    }
+
+    public <E extends Exception> T get(long timeInMilliseconds, Sampler<T, E> sampler) throws E {
+
+        T snapshot = getSnapshot();
+
+        if (isValid(snapshot, timeInMilliseconds)) {
+            return snapshot;
+        }
+
+        synchronized (this) {
+            snapshot = getSnapshot();
+            if (!isValid(snapshot, timeInMilliseconds)) {
+                snapshot = sampler.sample(timeInMilliseconds, snapshot);
+                setSnapshot(snapshot);
+            }
+        }
+
+        return snapshot;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+public class SwapSnapshot extends Snapshot {
+
+    private final long total;
+    private final long used;
+
+    public SwapSnapshot(long timeInMilliseconds, long total, long used) {
+        super(timeInMilliseconds);
+        this.total = total;
+        this.used = used;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getUsed() {
+        return used;
+    }
+
+    public long getAvailable() {
+        return getTotal() - getUsed();
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.NetworkIF;
+
+public interface SystemCollector {
+
+    MemorySnapshot sampleMemory(long timeInMilliseconds);
+
+    SwapSnapshot sampleSwap(long timeInMilliseconds);
+
+    CpuTicksSnapshot sampleCpuTicks(long timeInMilliseconds, CpuTicksSnapshot previousSnapshot);
+
+    /**
+     * @param index 0 for the 1 minute, 1 for the 5 minutes and 2 for the 15 minutes load average
+     * @return the load average or a negative value if it is not available
+     */
+    double getLoadAverage(int index);
+
+    long getUptimeInSeconds();
+
+    int getThreadCount();
+
+    DiskSnapshot sampleDisk(long timeInMilliseconds, HWDiskStore disk, DiskSnapshot previousSnapshot);
+
+    NetworkSnapshot sampleNetwork(long timeInMilliseconds, NetworkIF network, NetworkSnapshot previousSnapshot);
+}
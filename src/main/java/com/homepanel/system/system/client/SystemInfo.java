@@ -12,129 +12,279 @@
  */
 package com.homepanel.system.system.client;
 
+import com.homepanel.system.service.SystemConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import oshi.PlatformEnum;
 import oshi.hardware.*;
 import oshi.software.os.OSFileStore;
 import oshi.software.os.OSProcess;
 import oshi.software.os.OperatingSystem;
 import oshi.util.EdidUtil;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 public class SystemInfo {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(SystemInfo.class);
 
-    private oshi.SystemInfo systemInfo;
-    private long[] oldSystemCpuLoadTicks;
-    private OSFileStore[] osFileSores;
-    private Map<Integer, NetworkIF> networks;
-    private Display[] displays;
-    private PowerSource[] powerSources;
-    private HWDiskStore[] hardwareDiskStores;
-    private Long osFileSoresCacheExpireTimeInMilliseconds;
-    private Long networksCacheExpireTimeInMilliseconds;
-    private Long displaysCacheExpireTimeInMilliseconds;
-    private Long powerSourcesCacheExpireTimeInMilliseconds;
-    private Long hardwareDiskStoresCacheExpireTimeInMilliseconds;
+    private final static long SNAPSHOT_MAX_AGE_IN_MILLISECONDS = 500L;
+    private final static long PROCESS_BASELINE_STALE_TIME_IN_NANOSECONDS = TimeUnit.MINUTES.toNanos(10);
+    private final static Set<SystemConstants.GROUP> PROCFS_GROUPS = EnumSet.of(SystemConstants.GROUP.MEMORY, SystemConstants.GROUP.SWAP, SystemConstants.GROUP.CPU, SystemConstants.GROUP.DRIVE, SystemConstants.GROUP.NETWORK);
+    // the counters of the drives are sampled every tick, the list itself only has to pick up added and removed drives
+    private final static long HARDWARE_DISK_STORES_CACHE_MIN_AGE_IN_MILLISECONDS = TimeUnit.MINUTES.toMillis(1);
+    private final static long DEVICE_RESCAN_INTERVAL_IN_MILLISECONDS = TimeUnit.MINUTES.toMillis(5);
+    private final static Map<SystemConstants.GROUP, String> DEVICE_DIRECTORIES = new EnumMap<>(Map.of(SystemConstants.GROUP.NETWORK, "sys/class/net", SystemConstants.GROUP.DRIVE, "sys/block", SystemConstants.GROUP.DISPLAY, "sys/class/drm"));
+
+    private volatile oshi.SystemInfo systemInfo;
+    private Path collectorRootPath;
+    private SystemCollector defaultCollector;
+    private Map<SystemConstants.GROUP, SystemCollector> collectors;
+    private SnapshotCache<MemorySnapshot> memorySnapshotCache;
+    private SnapshotCache<SwapSnapshot> swapSnapshotCache;
+    private SnapshotCache<CpuTicksSnapshot> cpuTicksSnapshotCache;
+    private CpuLoadBaselines cpuLoadBaselines;
+    private SnapshotCache<SensorsSnapshot> sensorsSnapshotCache;
+    private Map<Integer, SnapshotCache<FileStoreSnapshot>> fileStoreSnapshotCaches;
+    private Map<String, SnapshotCache<NetworkSnapshot>> networkSnapshotCaches;
+    private Map<String, SnapshotCache<DiskSnapshot>> diskSnapshotCaches;
+    private Map<Integer, SnapshotCache<ProcessSnapshot>> processSnapshotCaches;
+    private ProcessBaselines processBaselines;
+    private ProcessBaselines processTableBaselines;
+    private Map<ProcessMatcher, SnapshotCache<ProcessGroupSnapshot>> processGroupSnapshotCaches;
+    private SnapshotCache<ProcessTableSnapshot> processTableSnapshotCache;
+    private volatile ProcessIndex processIndex;
+    private DeviceCache<OSFileStore> osFileStoreCache;
+    private DeviceCache<NetworkIF> networkCache;
+    private DeviceCache<Display> displayCache;
+    private DeviceCache<PowerSource> powerSourceCache;
+    private DeviceCache<HWDiskStore> hardwareDiskStoreCache;
+    private DeviceWatcher deviceWatcher;
+    private Map<SystemConstants.GROUP, AtomicLong> deviceGenerations;
 
     private oshi.SystemInfo getSystemInfo() {
+
+        if (systemInfo == null) {
+            synchronized (this) {
+                if (systemInfo == null) {
+                    systemInfo = new oshi.SystemInfo();
+                }
+            }
+        }
+
         return systemInfo;
     }
 
-    private void setSystemInfo(oshi.SystemInfo systemInfo) {
-        this.systemInfo = systemInfo;
+    private Path getCollectorRootPath() {
+        return collectorRootPath;
+    }
+
+    private void setCollectorRootPath(Path collectorRootPath) {
+        this.collectorRootPath = collectorRootPath;
+    }
+
+    private SystemCollector getDefaultCollector() {
+        return defaultCollector;
+    }
+
+    private void setDefaultCollector(SystemCollector defaultCollector) {
+        this.defaultCollector = defaultCollector;
+    }
+
+    private Map<SystemConstants.GROUP, SystemCollector> getCollectors() {
+        return collectors;
+    }
+
+    private void setCollectors(Map<SystemConstants.GROUP, SystemCollector> collectors) {
+        this.collectors = collectors;
+    }
+
+    private Map<Integer, SnapshotCache<ProcessSnapshot>> getProcessSnapshotCaches() {
+        return processSnapshotCaches;
+    }
+
+    private void setProcessSnapshotCaches(Map<Integer, SnapshotCache<ProcessSnapshot>> processSnapshotCaches) {
+        this.processSnapshotCaches = processSnapshotCaches;
+    }
+
+    private ProcessBaselines getProcessBaselines() {
+        return processBaselines;
+    }
+
+    private void setProcessBaselines(ProcessBaselines processBaselines) {
+        this.processBaselines = processBaselines;
     }
 
-    private long[] getOldSystemCpuLoadTicks() {
-        return oldSystemCpuLoadTicks;
+    private ProcessBaselines getProcessTableBaselines() {
+        return processTableBaselines;
     }
 
-    private void setOldSystemCpuLoadTicks(long[] oldSystemCpuLoadTicks) {
-        this.oldSystemCpuLoadTicks = oldSystemCpuLoadTicks;
+    private void setProcessTableBaselines(ProcessBaselines processTableBaselines) {
+        this.processTableBaselines = processTableBaselines;
     }
 
-    private OSFileStore[] getOsFileSores() {
-        return osFileSores;
+    private Map<ProcessMatcher, SnapshotCache<ProcessGroupSnapshot>> getProcessGroupSnapshotCaches() {
+        return processGroupSnapshotCaches;
     }
 
-    private void setOsFileSores(OSFileStore[] osFileSores) {
-        this.osFileSores = osFileSores;
+    private void setProcessGroupSnapshotCaches(Map<ProcessMatcher, SnapshotCache<ProcessGroupSnapshot>> processGroupSnapshotCaches) {
+        this.processGroupSnapshotCaches = processGroupSnapshotCaches;
     }
 
-    private Map<Integer, NetworkIF> getNetworks() {
-        return networks;
+    private SnapshotCache<ProcessTableSnapshot> getProcessTableSnapshotCache() {
+        return processTableSnapshotCache;
+    }
+
+    private void setProcessTableSnapshotCache(SnapshotCache<ProcessTableSnapshot> processTableSnapshotCache) {
+        this.processTableSnapshotCache = processTableSnapshotCache;
+    }
+
+    private ProcessIndex getProcessIndex() {
+
+        if (processIndex == null) {
+            synchronized (this) {
+                if (processIndex == null) {
+                    processIndex = new ProcessIndex(getCollectorRootPath(), getOperatingSystem(), SNAPSHOT_MAX_AGE_IN_MILLISECONDS, this::onProcessExited);
+                }
+            }
+        }
+
+        return processIndex;
     }
 
-    private void setNetworks(Map<Integer, NetworkIF> networks) {
-        this.networks = networks;
+    private SnapshotCache<MemorySnapshot> getMemorySnapshotCache() {
+        return memorySnapshotCache;
     }
 
-    private Display[] getDisplays() {
-        return displays;
+    private void setMemorySnapshotCache(SnapshotCache<MemorySnapshot> memorySnapshotCache) {
+        this.memorySnapshotCache = memorySnapshotCache;
     }
 
-    private void setDisplays(Display[] displays) {
-        this.displays = displays;
+    private SnapshotCache<SwapSnapshot> getSwapSnapshotCache() {
+        return swapSnapshotCache;
     }
 
-    private PowerSource[] getPowerSources() {
-        return powerSources;
+    private void setSwapSnapshotCache(SnapshotCache<SwapSnapshot> swapSnapshotCache) {
+        this.swapSnapshotCache = swapSnapshotCache;
     }
 
-    private void setPowerSources(PowerSource[] powerSources) {
-        this.powerSources = powerSources;
+    private SnapshotCache<CpuTicksSnapshot> getCpuTicksSnapshotCache() {
+        return cpuTicksSnapshotCache;
     }
 
-    private HWDiskStore[] getHardwareDiskStores() {
-        return hardwareDiskStores;
+    private void setCpuTicksSnapshotCache(SnapshotCache<CpuTicksSnapshot> cpuTicksSnapshotCache) {
+        this.cpuTicksSnapshotCache = cpuTicksSnapshotCache;
     }
 
-    private void setHardwareDiskStores(HWDiskStore[] hardwareDiskStores) {
-        this.hardwareDiskStores = hardwareDiskStores;
+    private CpuLoadBaselines getCpuLoadBaselines() {
+        return cpuLoadBaselines;
     }
 
-    private Long getOsFileSoresCacheExpireTimeInMilliseconds() {
-        return osFileSoresCacheExpireTimeInMilliseconds;
+    private void setCpuLoadBaselines(CpuLoadBaselines cpuLoadBaselines) {
+        this.cpuLoadBaselines = cpuLoadBaselines;
     }
 
-    private void setOsFileSoresCacheExpireTimeInMilliseconds(Long osFileSoresCacheExpireTimeInMilliseconds) {
-        this.osFileSoresCacheExpireTimeInMilliseconds = osFileSoresCacheExpireTimeInMilliseconds;
+    private SnapshotCache<SensorsSnapshot> getSensorsSnapshotCache() {
+        return sensorsSnapshotCache;
     }
 
-    private Long getNetworksCacheExpireTimeInMilliseconds() {
-        return networksCacheExpireTimeInMilliseconds;
+    private void setSensorsSnapshotCache(SnapshotCache<SensorsSnapshot> sensorsSnapshotCache) {
+        this.sensorsSnapshotCache = sensorsSnapshotCache;
     }
 
-    private void setNetworksCacheExpireTimeInMilliseconds(Long networksCacheExpireTimeInMilliseconds) {
-        this.networksCacheExpireTimeInMilliseconds = networksCacheExpireTimeInMilliseconds;
+    private Map<Integer, SnapshotCache<FileStoreSnapshot>> getFileStoreSnapshotCaches() {
+        return fileStoreSnapshotCaches;
     }
 
-    private Long getDisplaysCacheExpireTimeInMilliseconds() {
-        return displaysCacheExpireTimeInMilliseconds;
+    private void setFileStoreSnapshotCaches(Map<Integer, SnapshotCache<FileStoreSnapshot>> fileStoreSnapshotCaches) {
+        this.fileStoreSnapshotCaches = fileStoreSnapshotCaches;
     }
 
-    private void setDisplaysCacheExpireTimeInMilliseconds(Long displaysCacheExpireTimeInMilliseconds) {
-        this.displaysCacheExpireTimeInMilliseconds = displaysCacheExpireTimeInMilliseconds;
+    private Map<String, SnapshotCache<NetworkSnapshot>> getNetworkSnapshotCaches() {
+        return networkSnapshotCaches;
     }
 
-    private Long getPowerSourcesCacheExpireTimeInMilliseconds() {
-        return powerSourcesCacheExpireTimeInMilliseconds;
+    private void setNetworkSnapshotCaches(Map<String, SnapshotCache<NetworkSnapshot>> networkSnapshotCaches) {
+        this.networkSnapshotCaches = networkSnapshotCaches;
     }
 
-    private void setPowerSourcesCacheExpireTimeInMilliseconds(Long powerSourcesCacheExpireTimeInMilliseconds) {
-        this.powerSourcesCacheExpireTimeInMilliseconds = powerSourcesCacheExpireTimeInMilliseconds;
+    private Map<String, SnapshotCache<DiskSnapshot>> getDiskSnapshotCaches() {
+        return diskSnapshotCaches;
+    }
+
+    private void setDiskSnapshotCaches(Map<String, SnapshotCache<DiskSnapshot>> diskSnapshotCaches) {
+        this.diskSnapshotCaches = diskSnapshotCaches;
+    }
+
+    private DeviceCache<OSFileStore> getOsFileStoreCache() {
+        return osFileStoreCache;
+    }
+
+    private void setOsFileStoreCache(DeviceCache<OSFileStore> osFileStoreCache) {
+        this.osFileStoreCache = osFileStoreCache;
+    }
+
+    private DeviceCache<NetworkIF> getNetworkCache() {
+        return networkCache;
+    }
+
+    private void setNetworkCache(DeviceCache<NetworkIF> networkCache) {
+        this.networkCache = networkCache;
+    }
+
+    private DeviceCache<Display> getDisplayCache() {
+        return displayCache;
+    }
+
+    private void setDisplayCache(DeviceCache<Display> displayCache) {
+        this.displayCache = displayCache;
+    }
+
+    private DeviceCache<PowerSource> getPowerSourceCache() {
+        return powerSourceCache;
+    }
+
+    private void setPowerSourceCache(DeviceCache<PowerSource> powerSourceCache) {
+        this.powerSourceCache = powerSourceCache;
+    }
+
+    private DeviceCache<HWDiskStore> getHardwareDiskStoreCache() {
+        return hardwareDiskStoreCache;
+    }
+
+    private void setHardwareDiskStoreCache(DeviceCache<HWDiskStore> hardwareDiskStoreCache) {
+        this.hardwareDiskStoreCache = hardwareDiskStoreCache;
     }
 
     public Long getHardwareDiskStoresCacheExpireTimeInMilliseconds() {
-        return hardwareDiskStoresCacheExpireTimeInMilliseconds;
+        return getHardwareDiskStoreCache() != null ? getHardwareDiskStoreCache().getTimeInMilliseconds() : null;
     }
 
-    private void setHardwareDiskStoresCacheExpireTimeInMilliseconds(Long hardwareDiskStoresCacheExpireTimeInMilliseconds) {
-        this.hardwareDiskStoresCacheExpireTimeInMilliseconds = hardwareDiskStoresCacheExpireTimeInMilliseconds;
+    private DeviceWatcher getDeviceWatcher() {
+        return deviceWatcher;
+    }
+
+    private void setDeviceWatcher(DeviceWatcher deviceWatcher) {
+        this.deviceWatcher = deviceWatcher;
+    }
+
+    private Map<SystemConstants.GROUP, AtomicLong> getDeviceGenerations() {
+        return deviceGenerations;
+    }
+
+    private void setDeviceGenerations(Map<SystemConstants.GROUP, AtomicLong> deviceGenerations) {
+        this.deviceGenerations = deviceGenerations;
     }
 
     private HardwareAbstractionLayer getHardware() {
@@ -161,100 +311,387 @@ public class SystemInfo {
         return getSystemInfo().getOperatingSystem();
     }
 
-    public SystemInfo() {
-        setSystemInfo(new oshi.SystemInfo());
-        setOldSystemCpuLoadTicks(getProcessor().getSystemCpuLoadTicks());
+    private SystemCollector getCollector(SystemConstants.GROUP group) {
+        return getCollectors().getOrDefault(group, getDefaultCollector());
     }
 
-    private synchronized OSFileStore getOsFileStore(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+    public SystemInfo() {
+        this(Paths.get("/"), new EnumMap<>(SystemConstants.GROUP.class), EnumSet.allOf(SystemConstants.GROUP.class));
+    }
+
+    /**
+     * @param groups the groups that are read, collectors, caches and device watches are only created for them and OSHI
+     *               is only initialized on its first use
+     */
+    public SystemInfo(Path collectorRootPath, Map<SystemConstants.GROUP, SystemConstants.COLLECTOR> collectorTypes, Set<SystemConstants.GROUP> groups) {
+        setCollectorRootPath(collectorRootPath);
+        setDefaultCollector(new OshiSystemCollector(this::getSystemInfo));
+        setCollectors(new EnumMap<>(SystemConstants.GROUP.class));
+
+        ProcfsSystemCollector procfsCollector = null;
+
+        for (Map.Entry<SystemConstants.GROUP, SystemConstants.COLLECTOR> collectorType : collectorTypes.entrySet()) {
+            if (collectorType.getValue() == SystemConstants.COLLECTOR.PROCFS && groups.contains(collectorType.getKey())) {
+                if (!PROCFS_GROUPS.contains(collectorType.getKey())) {
+                    LOGGER.warn("collector \"{}\" is not supported for group \"{}\", using \"{}\"", collectorType.getValue(), collectorType.getKey(), SystemConstants.COLLECTOR.OSHI);
+                } else if (oshi.SystemInfo.getCurrentPlatformEnum() != PlatformEnum.LINUX) {
+                    LOGGER.warn("collector \"{}\" is only supported on Linux, using \"{}\" for group \"{}\"", collectorType.getValue(), SystemConstants.COLLECTOR.OSHI, collectorType.getKey());
+                } else {
+                    if (procfsCollector == null) {
+                        procfsCollector = new ProcfsSystemCollector(collectorRootPath, getDefaultCollector());
+                    }
+                    getCollectors().put(collectorType.getKey(), procfsCollector);
+                }
+            }
+        }
 
-        if (getOsFileSores() == null || getOsFileSoresCacheExpireTimeInMilliseconds() == null || getOsFileSoresCacheExpireTimeInMilliseconds() < timeInMilliseconds - refreshIntervalInMilliseconds) {
-            setOsFileSores(getOperatingSystem().getFileSystem().getFileStores());
-            setOsFileSoresCacheExpireTimeInMilliseconds(timeInMilliseconds);
+        if (groups.contains(SystemConstants.GROUP.MEMORY)) {
+            setMemorySnapshotCache(new SnapshotCache<>(SNAPSHOT_MAX_AGE_IN_MILLISECONDS));
         }
 
-        if (getOsFileSores() == null || getOsFileSores().length <= index) {
-            throw new DeviceNotFoundException("filesystem with index: " + index + " can not be found");
+        if (groups.contains(SystemConstants.GROUP.SWAP)) {
+            setSwapSnapshotCache(new SnapshotCache<>(SNAPSHOT_MAX_AGE_IN_MILLISECONDS));
         }
 
-        return getOsFileSores()[index];
-    }
+        if (groups.contains(SystemConstants.GROUP.CPU)) {
+            setCpuTicksSnapshotCache(new SnapshotCache<>(SNAPSHOT_MAX_AGE_IN_MILLISECONDS));
+            setCpuLoadBaselines(new CpuLoadBaselines());
+        }
 
-    private synchronized NetworkIF getNetwork(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+        if (groups.contains(SystemConstants.GROUP.SENSORS)) {
+            setSensorsSnapshotCache(new SnapshotCache<>(SNAPSHOT_MAX_AGE_IN_MILLISECONDS));
+        }
 
-        if (getNetworks() == null || getNetworksCacheExpireTimeInMilliseconds() == null || getNetworksCacheExpireTimeInMilliseconds() <= timeInMilliseconds - refreshIntervalInMilliseconds) {
-            setNetworks(new HashMap<>());
-            setNetworksCacheExpireTimeInMilliseconds(timeInMilliseconds);
+        if (groups.contains(SystemConstants.GROUP.STORAGE)) {
+            setFileStoreSnapshotCaches(new ConcurrentHashMap<>());
+            setOsFileStoreCache(new DeviceCache<>("filesystem", () -> getOperatingSystem().getFileSystem().getFileStores(), fileStore -> new String[]{fileStore.getMount()}));
         }
 
-        if (!getNetworks().containsKey(index)) {
-            NetworkIF[] networkIFS = getHardware().getNetworkIFs();
-            if (networkIFS == null || networkIFS.length <= index) {
-                throw new DeviceNotFoundException("network with index: " + index + " can not be found");
-            }
-            getNetworks().put(index, networkIFS[index]);
-            getNetworks().get(index).updateAttributes();
+        if (groups.contains(SystemConstants.GROUP.NETWORK)) {
+            setNetworkSnapshotCaches(new ConcurrentHashMap<>());
+            setNetworkCache(new DeviceCache<>("network", () -> getHardware().getNetworkIFs(), network -> new String[]{network.getName()}));
+        }
 
+        if (groups.contains(SystemConstants.GROUP.DISPLAY)) {
+            // displays have no name, a swapped display is noticed by its EDID
+            setDisplayCache(new DeviceCache<>("display", () -> getHardware().getDisplays(), display -> new String[]{display.getEdid() != null ? HexFormat.of().formatHex(display.getEdid()) : null}));
         }
 
-        return getNetworks().get(index);
+        if (groups.contains(SystemConstants.GROUP.BATTERY)) {
+            setPowerSourceCache(new DeviceCache<>("power source", () -> getHardware().getPowerSources(), powerSource -> new String[]{powerSource.getName()}));
+        }
+
+        if (groups.contains(SystemConstants.GROUP.DRIVE)) {
+            setDiskSnapshotCaches(new ConcurrentHashMap<>());
+            // drives can be addressed by their serial number, their device node or the name of their device node
+            setHardwareDiskStoreCache(new DeviceCache<>("hardware disk stores", () -> getHardware().getDiskStores(), disk -> new String[]{disk.getSerial() != null ? disk.getSerial().trim() : null, disk.getName(), disk.getName() != null ? disk.getName().substring(disk.getName().lastIndexOf('/') + 1) : null}));
+        }
+
+        if (groups.contains(SystemConstants.GROUP.PROCESS)) {
+            setProcessSnapshotCaches(new ConcurrentHashMap<>());
+            // the process table and the processes of topics sample on their own, so each keeps its own baselines
+            setProcessBaselines(new ProcessBaselines(PROCESS_BASELINE_STALE_TIME_IN_NANOSECONDS, TimeUnit.MILLISECONDS.toNanos(SNAPSHOT_MAX_AGE_IN_MILLISECONDS)));
+            setProcessTableBaselines(new ProcessBaselines(PROCESS_BASELINE_STALE_TIME_IN_NANOSECONDS, TimeUnit.MILLISECONDS.toNanos(SNAPSHOT_MAX_AGE_IN_MILLISECONDS)));
+            setProcessGroupSnapshotCaches(new ConcurrentHashMap<>());
+            setProcessTableSnapshotCache(new SnapshotCache<>(SNAPSHOT_MAX_AGE_IN_MILLISECONDS));
+        }
+
+        setDeviceGenerations(new EnumMap<>(SystemConstants.GROUP.class));
+
+        if (oshi.SystemInfo.getCurrentPlatformEnum() == PlatformEnum.LINUX) {
+            watchDevices(groups);
+        }
     }
 
-    private synchronized Display getDisplay(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+    /**
+     * invalidates the devices of a group whenever an entry of its sysfs directory is added or removed, sysfs does not
+     * report hotplugged devices reliably, so this only lets a change be noticed before the devices expire
+     */
+    private void watchDevices(Set<SystemConstants.GROUP> groups) {
+
+        if (DEVICE_DIRECTORIES.keySet().stream().noneMatch(groups::contains)) {
+            return;
+        }
 
-        if (getDisplays() == null || getDisplaysCacheExpireTimeInMilliseconds() == null || getDisplaysCacheExpireTimeInMilliseconds() <= timeInMilliseconds - refreshIntervalInMilliseconds) {
-            setDisplays(getHardware().getDisplays());
-            setDisplaysCacheExpireTimeInMilliseconds(timeInMilliseconds);
+        try {
+            setDeviceWatcher(new DeviceWatcher());
+        } catch (IOException e) {
+            LOGGER.warn("device changes can not be watched", e);
+            return;
         }
 
-        if (getDisplays() == null || getDisplays().length <= index) {
-            throw new DeviceNotFoundException("display with index: " + index + " can not be found");
+        for (Map.Entry<SystemConstants.GROUP, String> deviceDirectory : DEVICE_DIRECTORIES.entrySet()) {
+
+            SystemConstants.GROUP group = deviceDirectory.getKey();
+
+            if (!groups.contains(group)) {
+                continue;
+            }
+
+            AtomicLong generation = new AtomicLong();
+
+            if (getDeviceWatcher().watch(getCollectorRootPath().resolve(deviceDirectory.getValue()), () -> onDevicesChanged(group, generation))) {
+                getDeviceGenerations().put(group, generation);
+            }
         }
+    }
+
+    private void onDevicesChanged(SystemConstants.GROUP group, AtomicLong generation) {
+
+        getDeviceCache(group).invalidate();
+        generation.incrementAndGet();
+
+        LOGGER.info("devices of group \"{}\" changed", group);
+    }
 
-        return getDisplays()[index];
+    private DeviceCache<?> getDeviceCache(SystemConstants.GROUP group) {
+
+        switch (group) {
+            case STORAGE:
+                return getOsFileStoreCache();
+            case NETWORK:
+                return getNetworkCache();
+            case DISPLAY:
+                return getDisplayCache();
+            case BATTERY:
+                return getPowerSourceCache();
+            case DRIVE:
+                return getHardwareDiskStoreCache();
+            default:
+                return null;
+        }
     }
 
-    private synchronized PowerSource getPowerSource(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+    /**
+     * a watched group only enumerates its devices when they are read, the devices of other groups are enumerated again
+     * after a long rescan interval
+     *
+     * @return a number that changes whenever the devices of the group changed, values that only depend on the devices
+     * of a group stay valid as long as it does not change
+     */
+    public long getDeviceGeneration(SystemConstants.GROUP group, long timeInMilliseconds, long refreshIntervalInMilliseconds) {
+
+        DeviceCache<?> deviceCache = getDeviceCache(group);
 
-        if (getPowerSources() == null || getPowerSourcesCacheExpireTimeInMilliseconds() == null || getPowerSourcesCacheExpireTimeInMilliseconds() <= timeInMilliseconds - refreshIntervalInMilliseconds) {
-            setPowerSources(getHardware().getPowerSources());
-            setPowerSourcesCacheExpireTimeInMilliseconds(timeInMilliseconds);
+        if (deviceCache == null) {
+            return 0L;
         }
 
-        if (getPowerSources() == null || getPowerSources().length <= index) {
-            throw new DeviceNotFoundException("power source with index: " + index + " can not be found");
+        AtomicLong watchedGeneration = getDeviceGenerations().get(group);
+
+        // both only ever grow, so their sum changes whenever one of them does
+        if (watchedGeneration != null) {
+            return watchedGeneration.get() + deviceCache.getGeneration();
         }
 
-        return getPowerSources()[index];
+        return deviceCache.getGeneration(timeInMilliseconds, Math.max(refreshIntervalInMilliseconds, DEVICE_RESCAN_INTERVAL_IN_MILLISECONDS));
+    }
+
+    /**
+     * @param device the mount point of a storage, the name of a network interface, the serial number or name of a
+     *               drive or the name of a battery
+     * @return the current index of the device, it only changes if the devices of the group changed
+     */
+    public int getDeviceIndex(SystemConstants.GROUP group, String device, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        switch (group) {
+            case STORAGE:
+                return getOsFileStoreCache().getIndex(device, timeInMilliseconds, refreshIntervalInMilliseconds);
+            case NETWORK:
+                return getNetworkCache().getIndex(device, timeInMilliseconds, refreshIntervalInMilliseconds);
+            case BATTERY:
+                return getPowerSourceCache().getIndex(device, timeInMilliseconds, refreshIntervalInMilliseconds);
+            case DRIVE:
+                return getHardwareDiskStoreCache().getIndex(device, timeInMilliseconds, Math.max(refreshIntervalInMilliseconds, HARDWARE_DISK_STORES_CACHE_MIN_AGE_IN_MILLISECONDS));
+            default:
+                throw new DeviceNotFoundException("devices of group " + group + " can not be found by name");
+        }
     }
 
-    private synchronized HWDiskStore getHardwareDiskStore(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
-
-        if (getHardwareDiskStores() == null || getHardwareDiskStoresCacheExpireTimeInMilliseconds() == null || getHardwareDiskStoresCacheExpireTimeInMilliseconds() <= timeInMilliseconds - refreshIntervalInMilliseconds) {
-            setHardwareDiskStores(getHardware().getDiskStores());
-            setPowerSourcesCacheExpireTimeInMilliseconds(timeInMilliseconds);
+    public void close() {
+        if (getDeviceWatcher() != null) {
+            getDeviceWatcher().close();
         }
+    }
+
+    /**
+     * prepares what the first read of a group depends on, all devices and values are otherwise sampled on their first
+     * read only
+     */
+    public void warmUp(SystemConstants.GROUP group) {
 
-        if (getHardwareDiskStores() == null || getHardwareDiskStores().length <= index) {
-            throw new DeviceNotFoundException("hardware disk stores with index: " + index + " can not be found");
+        if (group == SystemConstants.GROUP.CPU) {
+            // initial baseline for the first cpu load, it is never reused for a polling tick
+            getCpuTicksSnapshot(0L);
         }
+    }
+
+    private MemorySnapshot getMemorySnapshot(long timeInMilliseconds) {
+        return getMemorySnapshotCache().get(timeInMilliseconds, (sampleTimeInMilliseconds, previousSnapshot) -> getCollector(SystemConstants.GROUP.MEMORY).sampleMemory(sampleTimeInMilliseconds));
+    }
+
+    private SwapSnapshot getSwapSnapshot(long timeInMilliseconds) {
+        return getSwapSnapshotCache().get(timeInMilliseconds, (sampleTimeInMilliseconds, previousSnapshot) -> getCollector(SystemConstants.GROUP.SWAP).sampleSwap(sampleTimeInMilliseconds));
+    }
 
-        return getHardwareDiskStores()[index];
+    private CpuTicksSnapshot getCpuTicksSnapshot(long timeInMilliseconds) {
+        return getCpuTicksSnapshotCache().get(timeInMilliseconds, (sampleTimeInMilliseconds, previousSnapshot) -> getCollector(SystemConstants.GROUP.CPU).sampleCpuTicks(sampleTimeInMilliseconds, previousSnapshot));
+    }
+
+    private SensorsSnapshot getSensorsSnapshot(long timeInMilliseconds) {
+        return getSensorsSnapshotCache().get(timeInMilliseconds, (sampleTimeInMilliseconds, previousSnapshot) -> new SensorsSnapshot(sampleTimeInMilliseconds, getSensors().getCpuTemperature(), getSensors().getCpuVoltage(), getSensors().getFanSpeeds()));
+    }
+
+    private FileStoreSnapshot getFileStoreSnapshot(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+        return getFileStoreSnapshotCaches().computeIfAbsent(index, key -> new SnapshotCache<>(SNAPSHOT_MAX_AGE_IN_MILLISECONDS)).get(timeInMilliseconds, (sampleTimeInMilliseconds, previousSnapshot) -> {
+            OSFileStore fileStore = getOsFileStore(index, timeInMilliseconds, refreshIntervalInMilliseconds);
+            synchronized (fileStore) {
+                fileStore.updateAtrributes();
+                return new FileStoreSnapshot(sampleTimeInMilliseconds, fileStore.getTotalSpace(), fileStore.getUsableSpace());
+            }
+        });
+    }
+
+    private NetworkSnapshot getNetworkSnapshot(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        NetworkIF network = getNetwork(index, timeInMilliseconds, refreshIntervalInMilliseconds);
+
+        // counters are kept per device, so they still belong to it after it moved to another index
+        return getNetworkSnapshotCaches().computeIfAbsent(getSnapshotKey(getNetworkCache(), network, index), key -> new SnapshotCache<>(SNAPSHOT_MAX_AGE_IN_MILLISECONDS)).get(timeInMilliseconds, (sampleTimeInMilliseconds, previousSnapshot) -> getCollector(SystemConstants.GROUP.NETWORK).sampleNetwork(sampleTimeInMilliseconds, network, previousSnapshot));
+    }
+
+    private DiskSnapshot getDiskSnapshot(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        HWDiskStore disk = getHardwareDiskStore(index, timeInMilliseconds, refreshIntervalInMilliseconds);
+
+        return getDiskSnapshotCaches().computeIfAbsent(getSnapshotKey(getHardwareDiskStoreCache(), disk, index), key -> new SnapshotCache<>(SNAPSHOT_MAX_AGE_IN_MILLISECONDS)).get(timeInMilliseconds, (sampleTimeInMilliseconds, previousSnapshot) -> getCollector(SystemConstants.GROUP.DRIVE).sampleDisk(sampleTimeInMilliseconds, disk, previousSnapshot));
+    }
+
+    private static <T> String getSnapshotKey(DeviceCache<T> deviceCache, T device, int index) {
+
+        String key = deviceCache.getKey(device);
+
+        // a device without a key can only be told apart by its index
+        return key != null ? key : "#" + index;
+    }
+
+    private OSFileStore getOsFileStore(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+        return getOsFileStoreCache().get(index, timeInMilliseconds, refreshIntervalInMilliseconds);
+    }
+
+    private NetworkIF getNetwork(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+        return getNetworkCache().get(index, timeInMilliseconds, refreshIntervalInMilliseconds);
+    }
+
+    private Display getDisplay(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+        return getDisplayCache().get(index, timeInMilliseconds, refreshIntervalInMilliseconds);
+    }
+
+    private PowerSource getPowerSource(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+        return getPowerSourceCache().get(index, timeInMilliseconds, refreshIntervalInMilliseconds);
+    }
+
+    private HWDiskStore getHardwareDiskStore(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+        return getHardwareDiskStoreCache().get(index, timeInMilliseconds, Math.max(refreshIntervalInMilliseconds, HARDWARE_DISK_STORES_CACHE_MIN_AGE_IN_MILLISECONDS));
     }
 
     public Integer getProcessId() {
         return getOperatingSystem().getProcessId();
     }
 
-    private OSProcess getProcess(int pid) throws DeviceNotFoundException {
+    /**
+     * forgets the snapshots and the baseline of an exited process matched by name or pattern, processes matched by id
+     * are forgotten on their first failed lookup
+     */
+    private void onProcessExited(int pid) {
+        getProcessSnapshotCaches().remove(pid);
+        getProcessBaselines().remove(pid);
+        getProcessTableBaselines().remove(pid);
+    }
+
+    private ProcessSnapshot getProcessSnapshot(int pid, long timeInMilliseconds) throws DeviceNotFoundException {
+        return getProcessSnapshotCaches().computeIfAbsent(pid, key -> new SnapshotCache<>(SNAPSHOT_MAX_AGE_IN_MILLISECONDS)).get(timeInMilliseconds, (sampleTimeInMilliseconds, previousSnapshot) -> {
+
+            OSProcess process = getOperatingSystem().getProcess(pid);
+
+            if (process == null) {
+                getProcessBaselines().remove(pid);
+                getProcessSnapshotCaches().remove(pid);
+                throw new DeviceNotFoundException("error while getting information for process with PID " + pid);
+            }
+
+            return createProcessSnapshot(sampleTimeInMilliseconds, process);
+        });
+    }
+
+    private ProcessGroupSnapshot getProcessGroupSnapshot(ProcessMatcher processMatcher, long timeInMilliseconds) {
+        return getProcessGroupSnapshotCaches().computeIfAbsent(processMatcher, key -> new SnapshotCache<>(SNAPSHOT_MAX_AGE_IN_MILLISECONDS)).get(timeInMilliseconds, (sampleTimeInMilliseconds, previousSnapshot) -> {
+
+            int count = 0;
+            int lowestProcessId = Integer.MAX_VALUE;
+            String name = null;
+            String path = null;
+            double cpuUsage = 0D;
+            long residentSetSize = 0L;
+            int threadCount = 0;
+
+            for (int processId : getProcessIndex().getProcessIds(processMatcher, sampleTimeInMilliseconds)) {
+                try {
+                    ProcessSnapshot process = getProcessSnapshot(processId, sampleTimeInMilliseconds);
+                    count++;
+                    cpuUsage += process.getCpuUsage();
+                    residentSetSize += process.getResidentSetSize();
+                    threadCount += process.getThreadCount();
+                    if (processId < lowestProcessId) {
+                        lowestProcessId = processId;
+                        name = process.getName();
+                        path = process.getPath();
+                    }
+                } catch (DeviceNotFoundException e) {
+                    // the process exited since the index was updated
+                }
+            }
+
+            return new ProcessGroupSnapshot(sampleTimeInMilliseconds, count, name, path, cpuUsage, residentSetSize, threadCount);
+        });
+    }
+
+    private ProcessTableSnapshot getProcessTableSnapshot(long timeInMilliseconds) {
+        return getProcessTableSnapshotCache().get(timeInMilliseconds, (sampleTimeInMilliseconds, previousSnapshot) -> {
+
+            OSProcess[] processes = getOperatingSystem().getProcesses();
+
+            int[] processIds = new int[processes.length];
+            String[] names = new String[processes.length];
+            double[] cpuUsages = new double[processes.length];
+            long[] residentSetSizes = new long[processes.length];
+
+            for (int i = 0; i < processes.length; i++) {
+                processIds[i] = processes[i].getProcessID();
+                names[i] = processes[i].getName();
+                cpuUsages[i] = getCpuUsage(processes[i], getProcessTableBaselines());
+                residentSetSizes[i] = processes[i].getResidentSetSize();
+            }
+
+            return new ProcessTableSnapshot(sampleTimeInMilliseconds, processes.length, processIds, names, cpuUsages, residentSetSizes);
+        });
+    }
+
+    private double getCpuUsage(OSProcess process, ProcessBaselines processBaselines) {
 
-        OSProcess process = getOperatingSystem().getProcess(pid);
+        long cpuTime = process.getKernelTime() + process.getUserTime();
+        double cpuUsage = processBaselines.update(process.getProcessID(), process.getStartTime(), cpuTime, System.nanoTime());
 
-        if (process == null) {
-            throw new DeviceNotFoundException("error while getting information for process with PID " + pid);
+        if (Double.isNaN(cpuUsage)) {
+            // there is no previous sample of the process yet, so the average over its lifetime is the best estimation
+            cpuUsage = process.getUpTime() > 0 ? (double) cpuTime / process.getUpTime() : 0D;
         }
 
-        return process;
+        return cpuUsage;
+    }
+
+    private ProcessSnapshot createProcessSnapshot(long timeInMilliseconds, OSProcess process) {
+        return new ProcessSnapshot(timeInMilliseconds, process.getProcessID(), process.getName(), process.getPath(), getCpuUsage(process, getProcessBaselines()), process.getResidentSetSize(), process.getThreadCount());
     }
 
     private Double getAvarageCpuLoad(int timeInMinutes) {
@@ -275,9 +712,7 @@ public class SystemInfo {
                 index = 2;
         }
 
-        double processorLoads[] = getProcessor().getSystemLoadAverage(index + 1);
-
-        return processorLoads[index];
+        return getCollector(SystemConstants.GROUP.CPU).getLoadAverage(index);
     }
 
     private Long getSizeInMb(Long sizeInBytes) {
@@ -320,36 +755,35 @@ public class SystemInfo {
         return getProcessor().getPhysicalProcessorCount();
     }
 
-    public Long getMemoryTotal() {
-        return getSizeInMb(getMemory().getTotal());
+    public Long getMemoryTotal(long timeInMilliseconds) {
+        return getSizeInMb(getMemorySnapshot(timeInMilliseconds).getTotal());
     }
 
-    public Long getMemoryAvailable() {
-        return getSizeInMb(getHardware().getMemory().getAvailable());
+    public Long getMemoryAvailable(long timeInMilliseconds) {
+        return getSizeInMb(getMemorySnapshot(timeInMilliseconds).getAvailable());
     }
 
-    public Long getMemoryUsed() {
-        return getSizeInMb(getMemory().getTotal() - getMemory().getAvailable());
+    public Long getMemoryUsed(long timeInMilliseconds) {
+        return getSizeInMb(getMemorySnapshot(timeInMilliseconds).getUsed());
     }
 
     public Long getStorageTotal(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
-        return getSizeInMb(getOsFileStore(index, timeInMilliseconds, refreshIntervalInMilliseconds).getTotalSpace());
+        return getSizeInMb(getFileStoreSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getTotalSpace());
     }
 
     public Long getStorageAvailable(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
 
-        return getSizeInMb(getOsFileStore(index, timeInMilliseconds, refreshIntervalInMilliseconds).getUsableSpace());
+        return getSizeInMb(getFileStoreSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getUsableSpace());
     }
 
     public Long getStorageUsed(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
 
-        OSFileStore fileStore = (OSFileStore) getOsFileStore(index, timeInMilliseconds, refreshIntervalInMilliseconds);
-        return getSizeInMb(fileStore.getTotalSpace() - fileStore.getUsableSpace());
+        return getSizeInMb(getFileStoreSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getUsedSpace());
     }
 
     public Double getStorageAvailablePercent(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
 
-        OSFileStore fileStore = (OSFileStore) getOsFileStore(index, timeInMilliseconds, refreshIntervalInMilliseconds);
+        FileStoreSnapshot fileStore = getFileStoreSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds);
 
         Long totalSpace = fileStore.getTotalSpace();
         Long freeSpace = fileStore.getUsableSpace();
@@ -363,11 +797,10 @@ public class SystemInfo {
 
     public Double getStorageUsedPercent(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
 
-        OSFileStore fileStore = (OSFileStore) getOsFileStore(index, timeInMilliseconds, refreshIntervalInMilliseconds);
+        FileStoreSnapshot fileStore = getFileStoreSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds);
 
         Long totalSpace = fileStore.getTotalSpace();
-        Long freeSpace = fileStore.getUsableSpace();
-        Long usedSpace = totalSpace - freeSpace;
+        Long usedSpace = fileStore.getUsedSpace();
 
         if (totalSpace > 0) {
             return getPercentsValue(usedSpace.doubleValue() / totalSpace.doubleValue());
@@ -425,23 +858,23 @@ public class SystemInfo {
         return String.format("product %s, manufacturer %s, SN: %s, width: %d, height: %d", EdidUtil.getProductID(edid), EdidUtil.getManufacturerID(edid), EdidUtil.getSerialNo(edid), EdidUtil.getHcm(edid), EdidUtil.getVcm(edid));
     }
 
-    public Double getSensorsCpuTemperature() {
+    public Double getSensorsCpuTemperature(long timeInMilliseconds) {
 
-        double cpuTemperature = getSensors().getCpuTemperature();
+        double cpuTemperature = getSensorsSnapshot(timeInMilliseconds).getCpuTemperature();
 
         return cpuTemperature > 0 ? cpuTemperature : null;
     }
 
-    public Double getSensorsCpuVoltage() {
+    public Double getSensorsCpuVoltage(long timeInMilliseconds) {
 
-        double cpuVoltage = getSensors().getCpuVoltage();
+        double cpuVoltage = getSensorsSnapshot(timeInMilliseconds).getCpuVoltage();
 
         return cpuVoltage > 0 ? cpuVoltage : null;
     }
 
-    public Integer getSensorsFanSpeed(int index) throws DeviceNotFoundException {
+    public Integer getSensorsFanSpeed(int index, long timeInMilliseconds) throws DeviceNotFoundException {
 
-        int[] fanSpeeds = getSensors().getFanSpeeds();
+        int[] fanSpeeds = getSensorsSnapshot(timeInMilliseconds).getFanSpeeds();
 
         if (fanSpeeds.length > index) {
             return fanSpeeds[index] > 0 ? fanSpeeds[index]  : null;
@@ -466,10 +899,12 @@ public class SystemInfo {
         return getPowerSource(index, timeInMilliseconds, refreshIntervalInMilliseconds).getName();
     }
 
-    public Double getMemoryAvailablePercent() {
+    public Double getMemoryAvailablePercent(long timeInMilliseconds) {
+
+        MemorySnapshot memory = getMemorySnapshot(timeInMilliseconds);
 
-        Long availableMemory = getMemory().getAvailable();
-        Long totalMemory = getMemory().getTotal();
+        Long availableMemory = memory.getAvailable();
+        Long totalMemory = memory.getTotal();
 
         if (totalMemory > 0) {
             return getPercentsValue(availableMemory.doubleValue() / totalMemory.doubleValue());
@@ -478,10 +913,12 @@ public class SystemInfo {
         }
     }
 
-    public Double getMemoryUsedPercent() {
+    public Double getMemoryUsedPercent(long timeInMilliseconds) {
 
-        Long totalMemory = getMemory().getTotal();
-        Long usedMemory = totalMemory - getMemory().getAvailable();
+        MemorySnapshot memory = getMemorySnapshot(timeInMilliseconds);
+
+        Long totalMemory = memory.getTotal();
+        Long usedMemory = memory.getUsed();
 
         if (totalMemory > 0) {
             return getPercentsValue(usedMemory.doubleValue() / totalMemory.doubleValue());
@@ -505,30 +942,72 @@ public class SystemInfo {
         return getHardwareDiskStore(index, timeInMilliseconds, refreshIntervalInMilliseconds).getSerial();
     }
 
-    public Long getSwapTotal() {
+    /**
+     * @return the bytes read per second since the previous tick
+     */
+    public Double getDriveReadRate(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        return getDiskSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getReadBytesPerSecond();
+    }
+
+    /**
+     * @return the bytes written per second since the previous tick
+     */
+    public Double getDriveWriteRate(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        return getDiskSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getWriteBytesPerSecond();
+    }
+
+    /**
+     * @return the completed read and write operations per second since the previous tick
+     */
+    public Double getDriveOperationsRate(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        return getDiskSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getOperationsPerSecond();
+    }
 
-        long swapTotal = getSizeInMb(getMemory().getVirtualMemory().getSwapTotal());
+    /**
+     * @return the share of the time since the previous tick the drive spent doing I/O in percent
+     */
+    public Double getDriveBusyPercent(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        return getPercentsValue(getDiskSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getBusy());
+    }
+
+    /**
+     * @return the number of I/O operations currently in progress
+     */
+    public Long getDriveQueueLength(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        return getDiskSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getQueueLength();
+    }
+
+    public Long getSwapTotal(long timeInMilliseconds) {
+
+        long swapTotal = getSizeInMb(getSwapSnapshot(timeInMilliseconds).getTotal());
 
         return swapTotal > 0 ? swapTotal : null;
     }
 
-    public Long getSwapAvailable() {
+    public Long getSwapAvailable(long timeInMilliseconds) {
 
-        long swapAvaialble = getSizeInMb(getMemory().getVirtualMemory().getSwapTotal() - getMemory().getVirtualMemory().getSwapUsed());
+        long swapAvaialble = getSizeInMb(getSwapSnapshot(timeInMilliseconds).getAvailable());
 
         return swapAvaialble > 0 ? swapAvaialble : null;
     }
 
-    public Long getSwapUsed() {
+    public Long getSwapUsed(long timeInMilliseconds) {
 
-        long swapTotal = getSizeInMb(getMemory().getVirtualMemory().getSwapUsed());
+        long swapTotal = getSizeInMb(getSwapSnapshot(timeInMilliseconds).getUsed());
         return swapTotal > 0 ? swapTotal : null;
     }
 
-    public Double getSwapAvailablePercent() {
+    public Double getSwapAvailablePercent(long timeInMilliseconds) {
 
-        Long usedSwap = getMemory().getVirtualMemory().getSwapUsed();
-        Long totalSwap = getMemory().getVirtualMemory().getSwapTotal();
+        SwapSnapshot swap = getSwapSnapshot(timeInMilliseconds);
+
+        Long usedSwap = swap.getUsed();
+        Long totalSwap = swap.getTotal();
         Long freeSwap = totalSwap - usedSwap;
 
         if (totalSwap > 0) {
@@ -538,10 +1017,12 @@ public class SystemInfo {
         }
     }
 
-    public Double getSwapUsedPercent() {
+    public Double getSwapUsedPercent(long timeInMilliseconds) {
+
+        SwapSnapshot swap = getSwapSnapshot(timeInMilliseconds);
 
-        Long usedSwap = getMemory().getVirtualMemory().getSwapUsed();
-        Long totalSwap = getMemory().getVirtualMemory().getSwapTotal();
+        Long usedSwap = swap.getUsed();
+        Long totalSwap = swap.getTotal();
 
         if (totalSwap > 0) {
             return getPercentsValue(usedSwap.doubleValue() / totalSwap.doubleValue());
@@ -550,15 +1031,49 @@ public class SystemInfo {
         }
     }
 
-    public Double getCpuLoad() {
+    /**
+     * @return the cpu load in percent since the previous call with the same refresh interval
+     */
+    public Double getCpuLoad(long timeInMilliseconds, long refreshIntervalInMilliseconds) {
 
-        double cpuUsageRaw = getProcessor().getSystemCpuLoadBetweenTicks(getOldSystemCpuLoadTicks());
-
-        setOldSystemCpuLoadTicks(getProcessor().getSystemCpuLoadTicks());
+        double cpuUsageRaw = getCpuLoadBaselines().getLoad(refreshIntervalInMilliseconds, getCpuTicksSnapshot(timeInMilliseconds));
 
         return getPercentsValue(cpuUsageRaw);
     }
 
+    /**
+     * @return the share of the given tick type in all ticks in percent
+     */
+    public Double getCpuTickTypeLoad(CentralProcessor.TickType tickType, long timeInMilliseconds) {
+        return getPercentsValue(getCpuTicksSnapshot(timeInMilliseconds).getTickTypeLoad(tickType));
+    }
+
+    public Double getCpuCoreLoad(int index, long timeInMilliseconds) throws DeviceNotFoundException {
+
+        CpuTicksSnapshot snapshot = getCpuTicksSnapshot(timeInMilliseconds);
+
+        if (index < 0 || index >= snapshot.getProcessorCount()) {
+            throw new DeviceNotFoundException("logical processor with index: " + index + " can not be found");
+        }
+
+        return getPercentsValue(snapshot.getProcessorLoad(index));
+    }
+
+    /**
+     * @return the load of every logical processor in percent
+     */
+    public double[] getCpuCoreLoads(long timeInMilliseconds) {
+
+        CpuTicksSnapshot snapshot = getCpuTicksSnapshot(timeInMilliseconds);
+        double[] loads = new double[snapshot.getProcessorCount()];
+
+        for (int i = 0; i < loads.length; i++) {
+            loads[i] = snapshot.getProcessorLoad(i) * 100;
+        }
+
+        return loads;
+    }
+
     public Double getCpuLoad1() {
 
         double avarageCpuLoad = getAvarageCpuLoad(1);
@@ -582,14 +1097,14 @@ public class SystemInfo {
 
     public Double getCpuUptime() {
 
-        Long seconds = getOperatingSystem().getSystemUptime();
+        Long seconds = getCollector(SystemConstants.GROUP.CPU).getUptimeInSeconds();
 
         return getTimeInMinutes(seconds.doubleValue());
     }
 
     public Integer getCpuThreads() {
 
-        return getOperatingSystem().getThreadCount();
+        return getCollector(SystemConstants.GROUP.CPU).getThreadCount();
     }
 
     public String getNetworkMacAddress(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
@@ -599,70 +1114,171 @@ public class SystemInfo {
 
     public Long getNetworkPacketsReceived(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
 
-        return getNetwork(index, timeInMilliseconds, refreshIntervalInMilliseconds).getPacketsRecv();
+        return getNetworkSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getPacketsReceived();
     }
 
     public Long getNetworkPacketsSent(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
 
-        return getNetwork(index, timeInMilliseconds, refreshIntervalInMilliseconds).getPacketsSent();
+        return getNetworkSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getPacketsSent();
     }
 
     public Long getNetworkDataSent(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
 
-        return getSizeInMb(getNetwork(index, timeInMilliseconds, refreshIntervalInMilliseconds).getBytesSent());
+        return getSizeInMb(getNetworkSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getBytesSent());
     }
 
     public Long getNetworkDataReceived(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
 
-        return getSizeInMb(getNetwork(index, timeInMilliseconds, refreshIntervalInMilliseconds).getBytesRecv());
+        return getSizeInMb(getNetworkSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getBytesReceived());
     }
 
-    public String getProcessName(Integer pid) throws DeviceNotFoundException {
+    /**
+     * @return the received bytes per second since the previous tick
+     */
+    public Double getNetworkDataReceivedRate(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        return getNetworkSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getBytesReceivedPerSecond();
+    }
+
+    /**
+     * @return the sent bytes per second since the previous tick
+     */
+    public Double getNetworkDataSentRate(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        return getNetworkSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getBytesSentPerSecond();
+    }
+
+    /**
+     * @return the received packets per second since the previous tick
+     */
+    public Double getNetworkPacketsReceivedRate(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        return getNetworkSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getPacketsReceivedPerSecond();
+    }
+
+    /**
+     * @return the sent packets per second since the previous tick
+     */
+    public Double getNetworkPacketsSentRate(int index, long timeInMilliseconds, long refreshIntervalInMilliseconds) throws DeviceNotFoundException {
+
+        return getNetworkSnapshot(index, timeInMilliseconds, refreshIntervalInMilliseconds).getPacketsSentPerSecond();
+    }
+
+    public String getProcessName(Integer pid, long timeInMilliseconds) throws DeviceNotFoundException {
 
         if (pid != null && pid > 0) {
-            OSProcess process = getProcess(pid);
-            return process.getName();
+            return getProcessSnapshot(pid, timeInMilliseconds).getName();
         } else {
             return null;
         }
     }
 
-    public Double getProcessCpuUsage(Integer pid) throws DeviceNotFoundException {
+    public Double getProcessCpuUsage(Integer pid, long timeInMilliseconds) throws DeviceNotFoundException {
 
         if (pid != null && pid > 0) {
-            OSProcess process = getProcess(pid);
-            double cpuUsageRaw = (process.getKernelTime() + process.getUserTime()) / process.getUpTime();
-
-            return getPercentsValue(cpuUsageRaw);
+            return getPercentsValue(getProcessSnapshot(pid, timeInMilliseconds).getCpuUsage());
         } else {
             return null;
         }
     }
 
-    public Long getProcessMemoryUsage(Integer pid) throws DeviceNotFoundException {
+    public Long getProcessMemoryUsage(Integer pid, long timeInMilliseconds) throws DeviceNotFoundException {
 
         if (pid != null && pid > 0) {
-            return getSizeInMb(getProcess(pid).getResidentSetSize());
+            return getSizeInMb(getProcessSnapshot(pid, timeInMilliseconds).getResidentSetSize());
         } else {
             return null;
         }
     }
 
-    public String getProcessPath(Integer pid) throws DeviceNotFoundException {
+    public String getProcessPath(Integer pid, long timeInMilliseconds) throws DeviceNotFoundException {
 
         if (pid != null && pid > 0) {
-            return getProcess(pid).getPath();
+            return getProcessSnapshot(pid, timeInMilliseconds).getPath();
         } else {
             return null;
         }
     }
 
-    public Integer getProcessThreads(Integer pid) throws DeviceNotFoundException {
+    public Integer getProcessThreads(Integer pid, long timeInMilliseconds) throws DeviceNotFoundException {
 
         if (pid != null && pid > 0) {
-            return getProcess(pid).getThreadCount();
+            return getProcessSnapshot(pid, timeInMilliseconds).getThreadCount();
         } else {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    public String getProcessName(ProcessMatcher processMatcher, long timeInMilliseconds) throws DeviceNotFoundException {
+
+        if (processMatcher.isProcessId()) {
+            return getProcessName(processMatcher.getProcessId(), timeInMilliseconds);
+        }
+
+        return getProcessGroupSnapshot(processMatcher, timeInMilliseconds).getName();
+    }
+
+    public Double getProcessCpuUsage(ProcessMatcher processMatcher, long timeInMilliseconds) throws DeviceNotFoundException {
+
+        if (processMatcher.isProcessId()) {
+            return getProcessCpuUsage(processMatcher.getProcessId(), timeInMilliseconds);
+        }
+
+        return getPercentsValue(getProcessGroupSnapshot(processMatcher, timeInMilliseconds).getCpuUsage());
+    }
+
+    public Long getProcessMemoryUsage(ProcessMatcher processMatcher, long timeInMilliseconds) throws DeviceNotFoundException {
+
+        if (processMatcher.isProcessId()) {
+            return getProcessMemoryUsage(processMatcher.getProcessId(), timeInMilliseconds);
+        }
+
+        return getSizeInMb(getProcessGroupSnapshot(processMatcher, timeInMilliseconds).getResidentSetSize());
+    }
+
+    public String getProcessPath(ProcessMatcher processMatcher, long timeInMilliseconds) throws DeviceNotFoundException {
+
+        if (processMatcher.isProcessId()) {
+            return getProcessPath(processMatcher.getProcessId(), timeInMilliseconds);
+        }
+
+        return getProcessGroupSnapshot(processMatcher, timeInMilliseconds).getPath();
+    }
+
+    public Integer getProcessThreads(ProcessMatcher processMatcher, long timeInMilliseconds) throws DeviceNotFoundException {
+
+        if (processMatcher.isProcessId()) {
+            return getProcessThreads(processMatcher.getProcessId(), timeInMilliseconds);
+        }
+
+        return getProcessGroupSnapshot(processMatcher, timeInMilliseconds).getThreadCount();
+    }
+
+    public Integer getProcessCount(ProcessMatcher processMatcher, long timeInMilliseconds) throws DeviceNotFoundException {
+
+        if (processMatcher.isProcessId()) {
+            try {
+                getProcessSnapshot(processMatcher.getProcessId(), timeInMilliseconds);
+                return 1;
+            } catch (DeviceNotFoundException e) {
+                return 0;
+            }
+        }
+
+        return getProcessGroupSnapshot(processMatcher, timeInMilliseconds).getCount();
+    }
+
+    /**
+     * @return the processes with the highest cpu usage in percent of one logical processor
+     */
+    public TopProcesses getProcessesTopCpu(int limit, long timeInMilliseconds) {
+        return TopProcesses.select(getProcessTableSnapshot(timeInMilliseconds), limit, (processTable, index) -> getPercentsValue(processTable.getCpuUsage(index)));
+    }
+
+    /**
+     * @return the processes with the highest resident set size in MB
+     */
+    public TopProcesses getProcessesTopMemory(int limit, long timeInMilliseconds) {
+        return TopProcesses.select(getProcessTableSnapshot(timeInMilliseconds), limit, (processTable, index) -> processTable.getResidentSetSize(index) / (1024D * 1024));
+    }
+}
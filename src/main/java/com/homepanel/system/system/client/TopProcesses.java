@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.homepanel.system.system.client;
+
+/**
+ * The processes with the highest values of one process table scan, ordered by descending value.
+ */
+public class TopProcesses {
+
+    @FunctionalInterface
+    interface Value {
+        double get(ProcessTableSnapshot processTable, int index);
+    }
+
+    private final int[] processIds;
+    private final String[] names;
+    private final double[] values;
+
+    private TopProcesses(int[] processIds, String[] names, double[] values) {
+        this.processIds = processIds;
+        this.names = names;
+        this.values = values;
+    }
+
+    public int getSize() {
+        return processIds.length;
+    }
+
+    public int getProcessId(int index) {
+        return processIds[index];
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * selects the processes with the highest values using a min heap bounded to the given limit, so the selection
+     * takes O(P log N) for P processes and a limit of N
+     */
+    static TopProcesses select(ProcessTableSnapshot processTable, int limit, Value value) {
+
+        int[] heap = new int[Math.min(limit, processTable.getSize())];
+        double[] heapValues = new double[heap.length];
+        int size = 0;
+
+        for (int index = 0; index < processTable.getSize() && heap.length > 0; index++) {
+
+            double processValue = value.get(processTable, index);
+
+            if (size < heap.length) {
+                heap[size] = index;
+                heapValues[size] = processValue;
+                siftUp(heap, heapValues, size++);
+            } else if (processValue > heapValues[0]) {
+                heap[0] = index;
+                heapValues[0] = processValue;
+                siftDown(heap, heapValues, size);
+            }
+        }
+
+        int[] processIds = new int[size];
+        String[] names = new String[size];
+        double[] values = new double[size];
+
+        // removing the minimum repeatedly fills the result from its end
+        while (size > 0) {
+            int position = size - 1;
+            processIds[position] = processTable.getProcessId(heap[0]);
+            names[position] = processTable.getName(heap[0]);
+            values[position] = heapValues[0];
+            heap[0] = heap[position];
+            heapValues[0] = heapValues[position];
+            siftDown(heap, heapValues, --size);
+        }
+
+        return new TopProcesses(processIds, names, values);
+    }
+
+    private static void siftUp(int[] heap, double[] heapValues, int position) {
+
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (heapValues[parent] <= heapValues[position]) {
+                return;
+            }
+            swap(heap, heapValues, parent, position);
+            position = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, double[] heapValues, int size) {
+
+        int position = 0;
+
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && heapValues[left] < heapValues[smallest]) {
+                smallest = left;
+            }
+            if (right < size && heapValues[right] < heapValues[smallest]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(heap, heapValues, smallest, position);
+            position = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, double[] heapValues, int first, int second) {
+
+        int index = heap[first];
+        heap[first] = heap[second];
+        heap[second] = index;
+
+        double value = heapValues[first];
+        heapValues[first] = heapValues[second];
+        heapValues[second] = value;
+    }
+}